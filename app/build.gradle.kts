@@ -2,6 +2,9 @@ plugins {
     alias(libs.plugins.android.application)
 }
 
+val jmh: Configuration by configurations.creating
+val jmhAnnotationProcessor: Configuration by configurations.creating
+
 android {
     namespace = "com.example.bariatric_mobile"
     compileSdk = 35
@@ -32,6 +35,7 @@ android {
 
     buildFeatures {
         viewBinding = true
+        buildConfig = true
     }
 
     testOptions {
@@ -57,6 +61,8 @@ dependencies {
     implementation(libs.okhttp.logging)
     implementation(libs.gson)
 
+    implementation(libs.mpandroidchart)
+
     implementation(libs.security.crypto)
     implementation(libs.jjwt.api)
     implementation(libs.jjwt.impl)
@@ -68,8 +74,41 @@ dependencies {
     testImplementation("org.mockito:mockito-junit-jupiter:4.11.0")
     testImplementation("org.mockito:mockito-core:4.11.0")
     testImplementation("androidx.arch.core:core-testing:2.2.0")
+    testImplementation("org.json:json:20231013")
+    testImplementation(libs.okhttp.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     androidTestImplementation("androidx.test.espresso:espresso-contrib:3.5.1")
 
+    jmh(libs.jmh.core)
+    jmh(libs.jol.core)
+    jmhAnnotationProcessor(libs.jmh.generator.annprocess)
+}
+
+// JMH benchmarks in src/jmh/java. They are not part of the unit tests and only run on demand:
+//   ./gradlew :app:jmh                      runs all benchmarks
+//   ./gradlew :app:jmh -Pjmh.include=Name   runs the benchmarks matching a regex
+// They are compiled and run on the JVM with the classpath of the debug unit tests. The GC profiler
+// is always on, so bytes allocated per operation are reported as gc.alloc.rate.norm.
+afterEvaluate {
+    val unitTestClasspath = tasks.named<Test>("testDebugUnitTest").get().classpath
+
+    val compileJmhJava = tasks.register<JavaCompile>("compileJmhJava") {
+        description = "Compiles the JMH benchmarks."
+        source(layout.projectDirectory.dir("src/jmh/java"))
+        classpath = unitTestClasspath + jmh
+        options.annotationProcessorPath = jmhAnnotationProcessor
+        destinationDirectory.set(layout.buildDirectory.dir("intermediates/jmh/classes"))
+        sourceCompatibility = JavaVersion.VERSION_11.toString()
+        targetCompatibility = JavaVersion.VERSION_11.toString()
+    }
+
+    tasks.register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks."
+        classpath = files(compileJmhJava) + unitTestClasspath + jmh
+        mainClass.set("org.openjdk.jmh.Main")
+        args("-prof", "gc")
+        findProperty("jmh.include")?.let { args(it.toString()) }
+    }
 }
\ No newline at end of file
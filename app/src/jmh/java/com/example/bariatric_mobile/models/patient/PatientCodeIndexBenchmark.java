@@ -0,0 +1,79 @@
+package com.example.bariatric_mobile.models.patient;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Search over patient codes with {@link PatientCodeIndex} against the stream
+ * filter previously used by DashboardViewModel, at 10k, 100k and 1M codes.
+ * <p>
+ * Codes are eight random characters followed by the row number, generated
+ * with a fixed seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PatientCodeIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"7", "k3x", "q0z7"})
+    public String query;
+
+    private List<Patient> patients;
+    private PatientTable table;
+    private PatientCodeIndex index;
+
+    @Setup
+    public void setUp() {
+        patients = generate(size);
+        table = PatientTable.of(patients);
+        index = new PatientCodeIndex(table);
+    }
+
+    @Benchmark
+    public List<Patient> streamFilter() {
+        return patients.stream()
+                .filter(p -> p.getCode() != null &&
+                        p.getCode().toLowerCase().contains(query.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Patient> index() {
+        return table.view(index.findRows(query));
+    }
+
+    private static List<Patient> generate(int size) {
+        String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789";
+        Random random = new Random(42);
+        List<Patient> patients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder code = new StringBuilder(8);
+            for (int c = 0; c < 8; c++) {
+                code.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            patients.add(new Patient(code.toString().toUpperCase() + i, "2024-03-15T14:30:00", ""));
+        }
+        return patients;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.bariatric_mobile.models.patient;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained size of the dashboard list at 100k and 1M rows: an
+ * {@code ArrayList<Patient>} plus a filtered copy (previous behaviour) against
+ * a {@link PatientTable} plus an {@code int[]} of matching rows.
+ * <p>
+ * Sizes are measured by walking the object graph with JOL, so they do not
+ * depend on garbage collection timing. The result to read is the
+ * {@code bytesPerRow} counter; the time score only covers building the rows
+ * and walking them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PatientTableFootprintBenchmark {
+
+    private static final String[] STATUSES = {"NOWA", "", "ARCHIWALNA"};
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    /** Size of the measured representation, divided by the number of rows */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerRow;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerRow = 0;
+        }
+    }
+
+    @Benchmark
+    public void patientList(Footprint footprint) {
+        List<Patient> fullList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fullList.add(patient(i));
+        }
+        List<Patient> filteredList = new ArrayList<>(fullList);
+
+        footprint.bytesPerRow = GraphLayout.parseInstance(fullList, filteredList).totalSize() / size;
+    }
+
+    @Benchmark
+    public void patientTable(Footprint footprint) {
+        PatientTable.Builder builder = new PatientTable.Builder();
+        for (int i = 0; i < size; i++) {
+            builder.add(patient(i));
+        }
+        PatientTable table = builder.build();
+        int[] filteredRows = table.allRows();
+
+        footprint.bytesPerRow = GraphLayout.parseInstance(table, filteredRows).totalSize() / size;
+    }
+
+    private static Patient patient(int i) {
+        String date = String.format(Locale.ROOT, "2024-%02d-%02dT%02d:30:00", i % 12 + 1, i % 28 + 1, i % 24);
+        return new Patient(String.format(Locale.ROOT, "P%08d", i), date, STATUSES[i % STATUSES.length]);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.bariatric_mobile.services.network;
+
+import android.content.Context;
+
+import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.services.local.CredentialStore;
+import com.example.bariatric_mobile.services.local.InMemoryPreferences;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Per-request cost of {@link ApiClient.AuthInterceptor} before and after the
+ * token was cached in memory.
+ * <p>
+ * {@code preferences} is the previous behaviour: {@code hasToken()} followed by
+ * {@code getToken()}, each reading the token from the preferences. Every read
+ * decrypts the stored value with AES-GCM, as EncryptedSharedPreferences does.
+ * {@code memory} is the in-memory snapshot of {@link CredentialStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthInterceptorBenchmark {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJkb2N0b3JAZXhhbXBsZS5jb20ifQ.signature";
+
+    @Param({"preferences", "memory"})
+    public String tokenSource;
+
+    private ApiClient.AuthInterceptor interceptor;
+    private Interceptor.Chain chain;
+
+    @Setup
+    public void setUp() {
+        Context context = Mockito.mock(Context.class);
+        Mockito.when(context.getApplicationContext()).thenReturn(context);
+
+        EncryptedPreferences preferences = new EncryptedPreferences();
+        new CredentialStore(preferences, Runnable::run)
+                .storeSession(TOKEN, new User(1L, "John", "Doe", "john.doe@example.com"));
+
+        TokenProvider provider;
+        if ("memory".equals(tokenSource)) {
+            provider = new CredentialStore(preferences, Runnable::run);
+        } else {
+            provider = () -> {
+                // Previous behaviour: hasToken() followed by getToken()
+                String token = preferences.getString("auth_token", null);
+                if (token == null || token.trim().isEmpty()) {
+                    return null;
+                }
+                return preferences.getString("auth_token", null);
+            };
+        }
+        ApiClient.initialize(context, provider);
+
+        interceptor = new ApiClient.AuthInterceptor();
+        chain = new FixedResponseChain(new Request.Builder().url("http://localhost/api/surveys").build());
+    }
+
+    @Benchmark
+    public Response intercept() throws IOException {
+        return interceptor.intercept(chain);
+    }
+
+    /** Decrypts the token on every read, like EncryptedSharedPreferences */
+    private static class EncryptedPreferences extends InMemoryPreferences {
+        private static final int TAG_BITS = 128;
+
+        private final SecretKey key = new SecretKeySpec(new byte[32], "AES");
+        private final byte[] iv = new byte[12];
+        private String encryptedValue;
+        private byte[] encryptedToken;
+
+        @Override
+        public synchronized String getString(String key, String defValue) {
+            String value = super.getString(key, defValue);
+            if (!"auth_token".equals(key) || value == null) {
+                return value;
+            }
+            try {
+                if (!value.equals(encryptedValue)) {
+                    encryptedToken = cipher(Cipher.ENCRYPT_MODE).doFinal(value.getBytes(StandardCharsets.UTF_8));
+                    encryptedValue = value;
+                }
+                return new String(cipher(Cipher.DECRYPT_MODE).doFinal(encryptedToken), StandardCharsets.UTF_8);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Cipher cipher(int mode) throws GeneralSecurityException {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, iv));
+            return cipher;
+        }
+    }
+
+    /** Chain answering every request with the same empty 200 response */
+    private static class FixedResponseChain implements Interceptor.Chain {
+        private final Request request;
+
+        FixedResponseChain(Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response proceed(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+
+        @Override
+        public Call call() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int connectTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int readTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public int writeTimeoutMillis() {
+            return 0;
+        }
+
+        @Override
+        public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of the hand-written adapters of {@link JsonAdapters} against
+ * the reflective {@code new Gson()} used before, for a survey details response
+ * and a 10,000-row survey list. Bytes allocated per parse are reported by the
+ * GC profiler as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonAdaptersBenchmark {
+
+    private static final int LIST_ROWS = 10_000;
+    private static final Type PATIENT_LIST = new TypeToken<List<Patient>>() {}.getType();
+
+    @Param({"reflective", "adapters"})
+    public String parser;
+
+    private Gson gson;
+    private String survey;
+    private String list;
+
+    @Setup
+    public void setUp() {
+        gson = "adapters".equals(parser) ? JsonAdapters.gson() : new Gson();
+        survey = JsonAdaptersTest.surveyJson("ABC123");
+        list = patientList();
+    }
+
+    @Benchmark
+    public SurveyData surveyData() {
+        return gson.fromJson(survey, SurveyData.class);
+    }
+
+    @Benchmark
+    public List<Patient> patientList10k() {
+        return gson.fromJson(list, PATIENT_LIST);
+    }
+
+    private static String patientList() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < LIST_ROWS; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"patient_number\":\"P").append(100000 + i)
+                    .append("\",\"submission_date\":\"2024-0").append(i % 9 + 1)
+                    .append("-1").append(i % 10).append("T10:00:00\",\"status\":\"")
+                    .append(i % 3 == 0 ? "NOWA" : "ARCHIWALNA").append("\",\"updated_at\":null}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bariatric_mobile.utils;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting the submission date of one bound row, before and after dates
+ * were pre-parsed and memoised.
+ * <p>
+ * {@code simpleDateFormat} is the previous DataFormatter.formatDate, which
+ * created two {@link SimpleDateFormat} objects per call. {@code cachedFormatter}
+ * formats the pre-parsed date with the cached java.time formatter, and
+ * {@code memoised} is what a row bind does now. Bytes allocated per bind are
+ * reported by the GC profiler as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateFormattingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private final List<Patient> patients = new ArrayList<>(ROWS);
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Patient patient = new Patient("P" + i, String.format(Locale.ROOT, "2024-03-%02dT14:30:00", i % 28 + 1), "");
+            patient.getDisplaySubmissionDate();
+            patients.add(patient);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void simpleDateFormat(Blackhole blackhole) {
+        for (Patient patient : patients) {
+            blackhole.consume(formatWithSimpleDateFormat(patient.getSubmissionDate()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void cachedFormatter(Blackhole blackhole) {
+        for (Patient patient : patients) {
+            blackhole.consume(DataFormatter.formatDate(patient.getSubmissionEpochMillis(), patient.getSubmissionDate()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void memoised(Blackhole blackhole) {
+        for (Patient patient : patients) {
+            blackhole.consume(patient.getDisplaySubmissionDate());
+        }
+    }
+
+    /** Date formatting as previously done in DataFormatter.formatDate */
+    private static String formatWithSimpleDateFormat(String isoDate) {
+        try {
+            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
+            SimpleDateFormat outputFormat = new SimpleDateFormat("dd.MM.yyyy", Locale.getDefault());
+            Date date = inputFormat.parse(isoDate);
+            return date != null ? outputFormat.format(date) : isoDate;
+        } catch (Exception e) {
+            return isoDate;
+        }
+    }
+}
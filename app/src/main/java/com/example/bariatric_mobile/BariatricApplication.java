@@ -0,0 +1,30 @@
+package com.example.bariatric_mobile;
+
+import android.app.Application;
+
+import com.example.bariatric_mobile.services.local.CredentialStore;
+import com.example.bariatric_mobile.services.network.ApiClient;
+import com.example.bariatric_mobile.utils.StrictModePolicy;
+
+/**
+ * Application class initializing process-wide state.
+ * <p>
+ * Starts opening the credential store in the background as soon as the process
+ * starts and hands it to the API client, so requests sent by any screen,
+ * including one restored after process death, carry the stored token. Debug
+ * builds also enable {@link StrictModePolicy}.
+ */
+public class BariatricApplication extends Application {
+
+    /**
+     * Called when the application process starts, before any activity.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        if (BuildConfig.DEBUG) {
+            StrictModePolicy.enable();
+        }
+        ApiClient.initialize(this, CredentialStore.openAsync(this));
+    }
+}
@@ -36,7 +36,8 @@ public class LoginActivity extends AppCompatActivity {
 
     /**
      * Called when the activity is first created.
-     * Initializes views, ViewModel, observers, and checks for existing authentication.
+     * Initializes views, ViewModel and observers; an existing session opens the dashboard
+     * once secure storage has been read in the background.
      *
      * @param savedInstanceState Bundle containing saved state data
      */
@@ -48,9 +49,6 @@ public class LoginActivity extends AppCompatActivity {
         viewModel = new ViewModelProvider(this).get(LoginViewModel.class);
         setupObservers();
         setupListeners();
-        if (viewModel.isAlreadyAuthenticated()) {
-            navigateToDashboard();
-        }
     }
 
     /**
@@ -67,7 +65,7 @@ public class LoginActivity extends AppCompatActivity {
 
     /**
      * Sets up LiveData observers for authentication state changes.
-     * Observes loading state, error messages, and login success.
+     * Observes loading state, error messages, login success and an existing session.
      */
     private void setupObservers() {
         viewModel.getIsLoading().observe(this, isLoading -> updateLoadingState(isLoading != null ? isLoading : false));
@@ -85,6 +83,12 @@ public class LoginActivity extends AppCompatActivity {
                 navigateToDashboard();
             }
         });
+
+        viewModel.getAlreadyAuthenticated().observe(this, authenticated -> {
+            if (Boolean.TRUE.equals(authenticated) && !isFinishing()) {
+                navigateToDashboard();
+            }
+        });
     }
 
     /**
@@ -1,29 +1,47 @@
 package com.example.bariatric_mobile.activities;
 
 import android.annotation.SuppressLint;
+import android.content.Context;
 import android.content.Intent;
 import android.graphics.Typeface;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Trace;
 import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
 import android.text.style.StyleSpan;
-import android.webkit.WebView;
-import android.webkit.WebViewClient;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.bariatric_mobile.R;
 import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.models.patient.PatientDetailsState;
 import com.example.bariatric_mobile.models.patient.PredictionResponse;
 import com.example.bariatric_mobile.models.patient.SurveyData;
 import com.example.bariatric_mobile.utils.BmiCalculator;
+import com.example.bariatric_mobile.utils.ChartPaintTimer;
 import com.example.bariatric_mobile.utils.DataFormatter;
+import com.example.bariatric_mobile.utils.PredictionChartData;
 import com.example.bariatric_mobile.utils.SurveyMapperService;
 import com.example.bariatric_mobile.viewmodels.PatientDetailsViewModel;
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.MarkerView;
+import com.github.mikephil.charting.components.XAxis;
+import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.highlight.Highlight;
+import com.github.mikephil.charting.utils.MPPointF;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +53,14 @@ import java.util.Locale;
  * Shows comprehensive patient survey data including personal information,
  * medical history, lifestyle factors, and AI-generated weight loss predictions
  * with interactive charts. Supports data formatting, translation, and navigation.
+ * <p>
+ * Survey data and prediction arrive together as one {@link PatientDetailsState},
+ * and the screen is bound once per state. The prediction chart is a native
+ * {@link LineChart}, drawn once per complete state without any network access.
+ * <p>
+ * The time from creation until the chart is first painted is measured by a
+ * {@link ChartPaintTimer}. It is reported through {@link #reportFullyDrawn()} and,
+ * on Android 10 and later, as the {@link ChartPaintTimer#TRACE_SECTION} trace section.
  */
 public class PatientDetailsActivity extends AppCompatActivity {
 
@@ -43,7 +69,12 @@ public class PatientDetailsActivity extends AppCompatActivity {
     private TextView detailsCodeText;
     private TextView detailsDateText;
     private LinearLayout backToList;
-    private WebView chartWebView;
+    private LineChart predictionChart;
+
+    /** Last state whose chart was drawn */
+    private PatientDetailsState chartState;
+
+    private ChartPaintTimer chartPaintTimer;
 
     /**
      * Called when the activity is first created.
@@ -54,6 +85,7 @@ public class PatientDetailsActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        startChartPaintTimer();
         setContentView(R.layout.activity_patient_details);
 
         initializeViews();
@@ -64,15 +96,26 @@ public class PatientDetailsActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes all UI components and sets up the WebView for charts.
+     * Closes the chart paint trace section if the screen is left before the chart was painted.
+     */
+    @Override
+    protected void onDestroy() {
+        if (!chartPaintTimer.isPainted()) {
+            endChartPaintTrace();
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Initializes all UI components and sets up the prediction chart.
      */
     private void initializeViews() {
         logoutButton = findViewById(R.id.logout_button);
         detailsCodeText = findViewById(R.id.details_code);
         detailsDateText = findViewById(R.id.details_date);
         backToList = findViewById(R.id.back_to_list);
-        chartWebView = findViewById(R.id.chart_webview);
-        setupWebView();
+        predictionChart = findViewById(R.id.prediction_chart);
+        setupChart();
     }
 
     /**
@@ -87,20 +130,7 @@ public class PatientDetailsActivity extends AppCompatActivity {
      * Updates UI when data changes and handles chart loading.
      */
     private void setupObservers() {
-        viewModel.getPatientDetails().observe(this, surveyData -> {
-            if (surveyData != null) {
-                populatePatientData(surveyData);
-                tryPopulatePredictionTexts();
-                tryLoadChart();
-            }
-        });
-
-        viewModel.getPrediction().observe(this, prediction -> {
-            if (prediction != null) {
-                tryPopulatePredictionTexts();
-                tryLoadChart();
-            }
-        });
+        viewModel.getDetailsState().observe(this, this::bindState);
 
         viewModel.getCurrentUser().observe(this, user -> {
             if (user != null) {
@@ -142,26 +172,45 @@ public class PatientDetailsActivity extends AppCompatActivity {
     }
 
     /**
-     * Configures the WebView for displaying interactive charts.
-     * Enables JavaScript and sets up page load handling.
+     * Configures the axes, legend and tooltip of the prediction chart.
+     * Labels and units come from string resources, so the chart follows the app language.
      */
-    @SuppressLint("SetJavaScriptEnabled")
-    private void setupWebView() {
-        if (chartWebView == null) return;
-
-        chartWebView.getSettings().setJavaScriptEnabled(true);
-        chartWebView.getSettings().setDomStorageEnabled(true);
-        chartWebView.getSettings().setAllowFileAccess(true);
+    private void setupChart() {
+        if (predictionChart == null) return;
+
+        String weightUnit = getString(R.string.kg_unit);
+
+        predictionChart.getDescription().setEnabled(false);
+        predictionChart.setNoDataText(getString(R.string.loading_prediction));
+        predictionChart.setNoDataTextColor(ContextCompat.getColor(this, R.color.gray));
+        predictionChart.setScaleEnabled(false);
+        predictionChart.getAxisRight().setEnabled(false);
+
+        XAxis xAxis = predictionChart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setDrawGridLines(false);
+        xAxis.setGranularity(1f);
+        xAxis.setAxisMinimum(0f);
+        xAxis.setAxisMaximum(PredictionChartData.POINT_COUNT - 1);
+        xAxis.setValueFormatter(new IndexAxisValueFormatter(new String[]{
+                getString(R.string.before_surgery),
+                getString(R.string.one_month_after),
+                getString(R.string.three_months_after),
+                getString(R.string.six_months_after)
+        }));
 
-        chartWebView.setWebViewClient(new WebViewClient() {
+        YAxis yAxis = predictionChart.getAxisLeft();
+        yAxis.setGridColor(ContextCompat.getColor(this, R.color.gray_light));
+        yAxis.setValueFormatter(new ValueFormatter() {
             @Override
-            public void onPageFinished(WebView view, String url) {
-                super.onPageFinished(view, url);
-                tryLoadChart();
+            public String getFormattedValue(float value) {
+                return PredictionChartData.formatAxisValue(value, weightUnit);
             }
         });
 
-        chartWebView.loadUrl("file:///android_asset/chart_simple.html");
+        WeightMarkerView marker = new WeightMarkerView(this, weightUnit);
+        marker.setChartView(predictionChart);
+        predictionChart.setMarker(marker);
     }
 
     /**
@@ -171,7 +220,7 @@ public class PatientDetailsActivity extends AppCompatActivity {
      */
     private void populatePatientData(SurveyData surveyData) {
         detailsCodeText.setText(surveyData.getPatientCode());
-        detailsDateText.setText(DataFormatter.formatDate(surveyData.getDate()));
+        detailsDateText.setText(DataFormatter.formatDate(surveyData.getDateEpochMillis(), surveyData.getDate()));
 
         populatePersonalDataSection(surveyData);
         populateReferralDataSection(surveyData);
@@ -317,29 +366,59 @@ public class PatientDetailsActivity extends AppCompatActivity {
     }
 
     /**
-     * Attempts to load chart if both survey and prediction data are available.
+     * Binds a loaded state to the whole screen in one pass.
+     * A missing prediction is shown as "no data" in the texts and the chart;
+     * missing survey data is reported with a message, as the screen has nothing
+     * to show without it.
+     *
+     * @param state The survey data and prediction of the patient
      */
-    private void tryLoadChart() {
-        if (chartWebView == null) return;
+    private void bindState(PatientDetailsState state) {
+        if (state == null) return;
 
-        SurveyData survey = viewModel.getPatientDetails().getValue();
-        PredictionResponse prediction = viewModel.getPrediction().getValue();
+        SurveyData survey = state.getDetails();
+        if (survey == null) {
+            Toast.makeText(this, R.string.no_data_to_display, Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        populatePatientData(survey);
+        if (state.getPrediction() != null) {
+            populatePredictionTexts(state.getPrediction(), survey);
+        } else {
+            populateMissingPredictionTexts();
+        }
 
-        if (survey != null && prediction != null) {
-            loadChart(survey, prediction);
+        if (state != chartState) {
+            chartState = state;
+            if (state.getPrediction() != null) {
+                loadChart(survey, state.getPrediction());
+            } else {
+                showMissingPredictionChart();
+            }
         }
     }
 
     /**
-     * Attempts to populate prediction text fields if both data sets are available.
+     * Replaces the chart's loading text with "no data" when the prediction could not be loaded.
      */
-    private void tryPopulatePredictionTexts() {
-        SurveyData survey = viewModel.getPatientDetails().getValue();
-        PredictionResponse prediction = viewModel.getPrediction().getValue();
+    private void showMissingPredictionChart() {
+        if (predictionChart == null) return;
 
-        if (survey != null && prediction != null) {
-            populatePredictionTexts(prediction, survey);
-        }
+        predictionChart.clear();
+        predictionChart.setNoDataText(getString(R.string.no_prediction_data));
+        predictionChart.invalidate();
+        recordChartPaint();
+    }
+
+    /**
+     * Shows "no data" in the prediction text fields when the prediction could not be loaded.
+     */
+    private void populateMissingPredictionTexts() {
+        String noData = getString(R.string.no_data);
+        setLabeledTextView(R.id.prediction_1_month_text, R.string.prediction_1_month, noData);
+        setLabeledTextView(R.id.prediction_3_months_text, R.string.prediction_3_months, noData);
+        setLabeledTextView(R.id.prediction_6_months_text, R.string.prediction_6_months, noData);
     }
 
     /**
@@ -368,52 +447,113 @@ public class PatientDetailsActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads interactive chart in WebView with patient data and predictions.
-     * Prepares localized chart strings and executes JavaScript to render chart.
+     * Draws the weight prediction chart of a patient.
+     * Points without data are left out of the line.
      *
      * @param survey The patient survey data
      * @param prediction The weight loss predictions
      */
     private void loadChart(SurveyData survey, PredictionResponse prediction) {
-        if (chartWebView == null) return;
-
-        String chartStrings = String.format(Locale.US,
-                "{" +
-                        "\"loading\": \"%s\", " +
-                        "\"noData\": \"%s\", " +
-                        "\"noWeight\": \"%s\", " +
-                        "\"chartError\": \"%s\", " +
-                        "\"patientWeight\": \"%s\", " +
-                        "\"noDataPoint\": \"%s\", " +
-                        "\"before\": \"%s\", " +
-                        "\"oneMonth\": \"%s\", " +
-                        "\"threeMonths\": \"%s\", " +
-                        "\"sixMonths\": \"%s\", " +
-                        "\"weightUnit\": \"%s\"" +
-                        "}",
-                getString(R.string.loading_prediction),
-                getString(R.string.no_data_to_display),
-                getString(R.string.no_patient_weight_data),
-                getString(R.string.chart_creation_error),
-                getString(R.string.patient_weight),
-                getString(R.string.no_data),
-                getString(R.string.before_surgery),
-                getString(R.string.one_month_after),
-                getString(R.string.three_months_after),
-                getString(R.string.six_months_after),
-                getString(R.string.kg_unit)
-        );
-
-        String jsCode = String.format(Locale.US,
-                "if (typeof loadChartData === 'function') { " +
-                        "loadChartData({weight: %.1f}, {one_month: %.1f, three_months: %.1f, six_months: %.1f}, %s); " +
-                        "}",
-                (double) survey.getWeight(),
-                prediction.getOneMonth(),
-                prediction.getThreeMonths(),
-                prediction.getSixMonths(),
-                chartStrings);
-
-        chartWebView.evaluateJavascript(jsCode, null);
+        if (predictionChart == null) return;
+
+        if (survey.getWeight() <= 0) {
+            predictionChart.clear();
+            predictionChart.setNoDataText(getString(R.string.no_patient_weight_data));
+            predictionChart.invalidate();
+            recordChartPaint();
+            return;
+        }
+
+        float[] weights = PredictionChartData.weights(survey.getWeight(), prediction);
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (PredictionChartData.hasData(weights[i])) {
+                entries.add(new Entry(i, weights[i]));
+            }
+        }
+
+        int lineColor = ContextCompat.getColor(this, R.color.chart_line);
+        LineDataSet dataSet = new LineDataSet(entries, getString(R.string.patient_weight));
+        dataSet.setMode(LineDataSet.Mode.CUBIC_BEZIER);
+        dataSet.setColor(lineColor);
+        dataSet.setLineWidth(3f);
+        dataSet.setCircleColor(lineColor);
+        dataSet.setCircleRadius(6f);
+        dataSet.setCircleHoleColor(ContextCompat.getColor(this, R.color.white));
+        dataSet.setCircleHoleRadius(3f);
+        dataSet.setDrawFilled(true);
+        dataSet.setFillColor(lineColor);
+        dataSet.setFillAlpha(26);
+        dataSet.setDrawValues(false);
+        dataSet.setDrawHorizontalHighlightIndicator(false);
+        dataSet.setHighLightColor(lineColor);
+
+        predictionChart.setData(new LineData(dataSet));
+        predictionChart.invalidate();
+        recordChartPaint();
+    }
+
+    /**
+     * Starts measuring the time until the chart is painted.
+     */
+    private void startChartPaintTimer() {
+        chartPaintTimer = new ChartPaintTimer();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(ChartPaintTimer.TRACE_SECTION, System.identityHashCode(this));
+        }
+    }
+
+    /**
+     * Stops the chart paint measurement on the frame that draws the chart data.
+     * Only the first chart of the screen is measured.
+     */
+    private void recordChartPaint() {
+        if (chartPaintTimer.isPainted()) return;
+
+        ViewTreeObserver observer = predictionChart.getViewTreeObserver();
+        observer.addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                predictionChart.getViewTreeObserver().removeOnPreDrawListener(this);
+                if (chartPaintTimer.markPainted() >= 0) {
+                    endChartPaintTrace();
+                    reportFullyDrawn();
+                }
+                return true;
+            }
+        });
+    }
+
+    private void endChartPaintTrace() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(ChartPaintTimer.TRACE_SECTION, System.identityHashCode(this));
+        }
+    }
+
+    /**
+     * Tooltip of the prediction chart showing the weight of the selected point.
+     */
+    @SuppressLint("ViewConstructor")
+    private static class WeightMarkerView extends MarkerView {
+
+        private final TextView valueText;
+        private final String weightUnit;
+
+        WeightMarkerView(Context context, String weightUnit) {
+            super(context, R.layout.view_chart_marker);
+            this.valueText = findViewById(R.id.chart_marker_text);
+            this.weightUnit = weightUnit;
+        }
+
+        @Override
+        public void refreshContent(Entry entry, Highlight highlight) {
+            valueText.setText(PredictionChartData.formatWeight(entry.getY(), weightUnit));
+            super.refreshContent(entry, highlight);
+        }
+
+        @Override
+        public MPPointF getOffset() {
+            return new MPPointF(-(getWidth() / 2f), -getHeight());
+        }
     }
-}
\ No newline at end of file
+}
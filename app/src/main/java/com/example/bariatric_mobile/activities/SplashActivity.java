@@ -8,21 +8,31 @@ import android.os.Looper;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.bariatric_mobile.R;
+import com.example.bariatric_mobile.services.StartupOrchestrator;
 
 /**
  * Splash screen activity displayed when the application starts.
  * <p>
- * Shows the app logo and branding for a brief period before automatically
- * navigating to the login screen. Provides a smooth app launch experience.
+ * Shows the app logo and branding while {@link StartupOrchestrator} prepares
+ * secure storage, the network client and the stored session in the background,
+ * and closes as soon as that work is done. A user with a valid session goes
+ * straight to the dashboard; everyone else goes to the login screen.
  */
 public class SplashActivity extends AppCompatActivity {
 
-    /** Duration to display splash screen in milliseconds */
-    private static final int SPLASH_DISPLAY_TIME = 2000;
+    /** Longest time the splash waits for startup work before falling back to the login screen */
+    private static final int MAX_SPLASH_DISPLAY_TIME = 5000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final StartupOrchestrator.Listener readyListener =
+            destination -> handler.post(() -> navigateTo(destination));
+
+    private StartupOrchestrator orchestrator;
+    private boolean navigated;
 
     /**
      * Called when the activity is first created.
-     * Sets up the splash screen layout and schedules navigation to login.
+     * Sets up the splash screen layout and starts the startup work.
      *
      * @param savedInstanceState Bundle containing saved state data
      */
@@ -31,9 +41,35 @@ public class SplashActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
 
-        new Handler(Looper.getMainLooper()).postDelayed(() -> {
-            startActivity(new Intent(SplashActivity.this, LoginActivity.class));
-            finish();
-        }, SPLASH_DISPLAY_TIME);
+        orchestrator = StartupOrchestrator.getInstance(this);
+        orchestrator.start(readyListener);
+        handler.postDelayed(() -> navigateTo(StartupOrchestrator.Destination.LOGIN),
+                MAX_SPLASH_DISPLAY_TIME);
+    }
+
+    /**
+     * Stops waiting for startup work when the splash is closed before it finished.
+     */
+    @Override
+    protected void onDestroy() {
+        orchestrator.removeListener(readyListener);
+        handler.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
+    /**
+     * Opens the screen chosen by startup and closes the splash. Only the first call has an effect.
+     *
+     * @param destination The screen to open
+     */
+    private void navigateTo(StartupOrchestrator.Destination destination) {
+        if (navigated || isFinishing()) return;
+        navigated = true;
+
+        Class<?> target = destination == StartupOrchestrator.Destination.DASHBOARD
+                ? MainActivity.class
+                : LoginActivity.class;
+        startActivity(new Intent(this, target));
+        finish();
     }
-}
\ No newline at end of file
+}
@@ -9,19 +9,25 @@ import android.content.Intent;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.bariatric_mobile.R;
 import com.example.bariatric_mobile.activities.PatientDetailsActivity;
 import com.example.bariatric_mobile.models.patient.Patient;
-import com.example.bariatric_mobile.utils.DataFormatter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter used to display a list of patients.
  * Handles displaying patient information and navigation to patient details.
+ * <p>
+ * New lists are compared with the displayed one on a background thread and only
+ * the rows that changed are rebound. Items have stable IDs derived from the patient
+ * code, and a change limited to the status rebinds only the status view.
  */
 public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientViewHolder> {
 
@@ -37,7 +43,32 @@ public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientV
         void onDetailsClick(Patient patient);
     }
 
+    /** Payload marking a change that only affects the status badge */
+    static final Object PAYLOAD_STATUS = new Object();
+
+    private static final DiffUtil.ItemCallback<Patient> DIFF_CALLBACK = new DiffUtil.ItemCallback<Patient>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Patient oldItem, @NonNull Patient newItem) {
+            return Objects.equals(oldItem.getCode(), newItem.getCode());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Patient oldItem, @NonNull Patient newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull Patient oldItem, @NonNull Patient newItem) {
+            boolean onlyStatusChanged = Objects.equals(oldItem.getSubmissionDate(), newItem.getSubmissionDate())
+                    && !Objects.equals(oldItem.getStatus(), newItem.getStatus());
+            return onlyStatusChanged ? PAYLOAD_STATUS : null;
+        }
+    };
+
+    /** List shown until the first {@link #updateData(List)}; null once the differ is in use */
     private List<Patient> patients;
+    /** Created on first update, as it needs the main looper */
+    private AsyncListDiffer<Patient> differ;
     private final OnDetailsClickListener listener;
 
     /**
@@ -49,6 +80,7 @@ public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientV
     public PatientAdapter(List<Patient> patients, OnDetailsClickListener listener) {
         this.patients = new ArrayList<>(patients);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     /**
@@ -82,27 +114,32 @@ public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientV
         return new PatientViewHolder(view);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull PatientViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && allStatusPayloads(payloads)) {
+            bindStatus(holder, currentList().get(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
     @Override
     public void onBindViewHolder(@NonNull PatientViewHolder holder, int position) {
-        Patient patient = patients.get(position);
+        Patient patient = currentList().get(position);
 
         holder.codeTextView.setText(patient.getCode());
-        holder.dateTextView.setText(DataFormatter.formatDate(patient.getSubmissionDate()));
-
-        String status = patient.getStatus();
-        if (status != null && status.equalsIgnoreCase("NOWA")) {
-            holder.statusTextView.setVisibility(View.VISIBLE);
-            holder.statusTextView.setText(status);
-        } else {
-            holder.statusTextView.setVisibility(View.GONE);
-        }
+        holder.dateTextView.setText(patient.getDisplaySubmissionDate());
+        bindStatus(holder, patient);
 
         holder.detailsButton.setOnClickListener(v -> {
             Context context = v.getContext();
 
             if (patient.getStatus() != null && patient.getStatus().equalsIgnoreCase("NOWA")) {
                 patient.setStatus("");
-                notifyItemChanged(holder.getAdapterPosition());
+                int adapterPosition = holder.getAdapterPosition();
+                if (adapterPosition != RecyclerView.NO_POSITION) {
+                    notifyItemChanged(adapterPosition, PAYLOAD_STATUS);
+                }
             }
 
             Intent intent = new Intent(context, PatientDetailsActivity.class);
@@ -115,20 +152,84 @@ public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientV
         });
     }
 
+    /**
+     * Shows the "NOWA" badge for new submissions and hides it otherwise.
+     */
+    private void bindStatus(PatientViewHolder holder, Patient patient) {
+        String status = patient.getStatus();
+        if (status != null && status.equalsIgnoreCase("NOWA")) {
+            holder.statusTextView.setVisibility(View.VISIBLE);
+            holder.statusTextView.setText(status);
+        } else {
+            holder.statusTextView.setVisibility(View.GONE);
+        }
+    }
+
+    private static boolean allStatusPayloads(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_STATUS) return false;
+        }
+        return true;
+    }
+
     @Override
     public int getItemCount() {
-        return patients.size();
+        return currentList().size();
+    }
+
+    /**
+     * Returns a stable ID derived from the patient code, so rows keep their views
+     * across updates.
+     *
+     * @param position The adapter position.
+     * @return 64-bit hash of the patient code, or {@link RecyclerView#NO_ID} without a code.
+     */
+    @Override
+    public long getItemId(int position) {
+        return stableId(currentList().get(position).getCode());
     }
 
     /**
-     * Replaces the current patient list with a new one and refreshes the list.
+     * Computes the FNV-1a hash of a patient code.
+     *
+     * @param code The patient code, may be null.
+     * @return The hash, or {@link RecyclerView#NO_ID} for a null code.
+     */
+    static long stableId(String code) {
+        if (code == null) return RecyclerView.NO_ID;
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            hash ^= code.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == RecyclerView.NO_ID ? 0 : hash;
+    }
+
+    /**
+     * Replaces the current patient list with a new one.
+     * <p>
+     * The difference to the displayed list is computed off the main thread and
+     * dispatched as item-level changes once ready; a newer list submitted in the
+     * meantime replaces the pending one.
      *
      * @param newPatients The new list of patients.
      */
     public void updateData(List<Patient> newPatients) {
-        this.patients = new ArrayList<>(newPatients);
-        notifyDataSetChanged();
+        if (differ == null) {
+            int shown = patients.size();
+            differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+            patients = null;
+            if (shown > 0) {
+                notifyItemRangeRemoved(0, shown);
+            }
+        }
+        differ.submitList(new ArrayList<>(newPatients));
     }
+
+    private List<Patient> currentList() {
+        return differ != null ? differ.getCurrentList() : patients;
+    }
+
     /**
      * Sets the patient list without notifying the RecyclerView.
      * <p>
@@ -140,6 +241,7 @@ public class PatientAdapter extends RecyclerView.Adapter<PatientAdapter.PatientV
      */
     @VisibleForTesting
     public void setPatientListRaw(List<Patient> newPatients) {
+        this.differ = null;
         this.patients = new ArrayList<>(newPatients);
     }
 }
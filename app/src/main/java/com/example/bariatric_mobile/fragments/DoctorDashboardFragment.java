@@ -1,7 +1,10 @@
 package com.example.bariatric_mobile.fragments;
 
 import android.content.Intent;
+import android.net.ConnectivityManager;
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.View;
@@ -29,17 +32,27 @@ import java.util.List;
 /**
  * Fragment used as the main dashboard for doctors.
  * Displays a paginated list of patients, supports filtering, and handles logout.
+ * <p>
+ * Once a page is shown and the main thread is idle, the details of its patients
+ * are prefetched, so opening one of them is instant. Prefetching is skipped on
+ * metered networks and stopped while the list is scrolled or the page changes.
  */
 public class DoctorDashboardFragment extends Fragment {
 
     private PatientAdapter adapter;
     private DashboardViewModel viewModel;
+    private RecyclerView recyclerView;
+
+    /** Patients on the shown page */
+    private List<Patient> shownPatients = new ArrayList<>();
+    /** Prefetch waiting for the main thread to become idle, or null */
+    private MessageQueue.IdleHandler pendingPrefetch;
 
     private TextView paginationInfo;
     private TextView userNameTextView;
     private Button nextPageButton, prevPageButton, logoutButton;
     private int currentPage = 1;
-    private final int itemsPerPage = 10;
+    private final int itemsPerPage = DashboardViewModel.PAGE_SIZE;
     public int totalPages = 1;
 
     /**
@@ -60,7 +73,7 @@ public class DoctorDashboardFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        RecyclerView recyclerView = view.findViewById(R.id.patient_recycler_view);
+        recyclerView = view.findViewById(R.id.patient_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
 
         paginationInfo = view.findViewById(R.id.pagination_info);
@@ -69,9 +82,10 @@ public class DoctorDashboardFragment extends Fragment {
         logoutButton = view.findViewById(R.id.logout_button);
         userNameTextView = view.findViewById(R.id.user_name);
 
-        adapter = new PatientAdapter(new ArrayList<>(), patient ->
-                Toast.makeText(requireContext(), "Wybrano pacjenta: " + patient.getCode(), Toast.LENGTH_SHORT).show()
-        );
+        adapter = new PatientAdapter(new ArrayList<>(), patient -> {
+            viewModel.updateStatus(patient);
+            Toast.makeText(requireContext(), "Wybrano pacjenta: " + patient.getCode(), Toast.LENGTH_SHORT).show();
+        });
 
         recyclerView.setAdapter(adapter);
 
@@ -82,13 +96,23 @@ public class DoctorDashboardFragment extends Fragment {
         viewModel.loadPatients();
     }
 
+    /**
+     * Stops prefetching when the view is destroyed.
+     */
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        stopPrefetch();
+        recyclerView = null;
+    }
+
     /**
      * Sets up observers for patients, error messages, and the current user.
      * Updates the UI when LiveData changes.
      */
     private void setupObservers() {
         viewModel.getPatients().observe(getViewLifecycleOwner(), patients -> {
-            calculateTotalPages(patients);
+            calculateTotalPages(viewModel.getTotalPatients());
             updatePage();
         });
 
@@ -113,6 +137,7 @@ public class DoctorDashboardFragment extends Fragment {
     private void setupListeners(View view) {
         nextPageButton.setOnClickListener(v -> {
             if (currentPage < totalPages) {
+                stopPrefetch();
                 currentPage++;
                 updatePage();
             }
@@ -120,6 +145,7 @@ public class DoctorDashboardFragment extends Fragment {
 
         prevPageButton.setOnClickListener(v -> {
             if (currentPage > 1) {
+                stopPrefetch();
                 currentPage--;
                 updatePage();
             }
@@ -131,6 +157,17 @@ public class DoctorDashboardFragment extends Fragment {
             requireActivity().finish();
         });
 
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView view, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    schedulePrefetch();
+                } else {
+                    stopPrefetch();
+                }
+            }
+        });
+
         TextInputEditText searchInput = view.findViewById(R.id.search_input);
         searchInput.addTextChangedListener(new TextWatcher() {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
@@ -149,7 +186,15 @@ public class DoctorDashboardFragment extends Fragment {
      * @param list The list of patients to paginate.
      */
     public void calculateTotalPages(List<Patient> list) {
-        int totalItems = list.size();
+        calculateTotalPages(list.size());
+    }
+
+    /**
+     * Calculates how many pages are needed to display the given number of patients.
+     *
+     * @param totalItems The total number of patients to paginate.
+     */
+    public void calculateTotalPages(int totalItems) {
         totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
         if (totalPages == 0) totalPages = 1;
     }
@@ -161,6 +206,61 @@ public class DoctorDashboardFragment extends Fragment {
         List<Patient> pageData = viewModel.getPatientsForPage(currentPage, itemsPerPage);
         adapter.updateData(pageData);
         updatePaginationInfo();
+        shownPatients = pageData;
+        schedulePrefetch();
+    }
+
+    /**
+     * Prefetches the shown page once the main thread is idle and only if the list
+     * is not scrolling. A prefetch already running for the same page is kept.
+     */
+    private void schedulePrefetch() {
+        removePendingPrefetch();
+        if (shownPatients.isEmpty() || !isPrefetchAllowed()) {
+            viewModel.cancelPrefetch();
+            return;
+        }
+
+        List<Patient> rows = shownPatients;
+        MessageQueue.IdleHandler prefetch = new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                pendingPrefetch = null;
+                if (recyclerView != null && recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+                    viewModel.prefetchDetails(rows);
+                }
+                return false;
+            }
+        };
+        pendingPrefetch = prefetch;
+        Looper.myQueue().addIdleHandler(prefetch);
+    }
+
+    /**
+     * Cancels the running prefetch and one still waiting to start.
+     */
+    private void stopPrefetch() {
+        removePendingPrefetch();
+        viewModel.cancelPrefetch();
+    }
+
+    private void removePendingPrefetch() {
+        if (pendingPrefetch != null) {
+            Looper.myQueue().removeIdleHandler(pendingPrefetch);
+            pendingPrefetch = null;
+        }
+    }
+
+    /**
+     * Checks whether prefetching is worth the data: a network is connected and is not metered.
+     *
+     * @return True if details may be prefetched
+     */
+    private boolean isPrefetchAllowed() {
+        ConnectivityManager connectivity = requireContext().getSystemService(ConnectivityManager.class);
+        return connectivity != null
+                && connectivity.getActiveNetwork() != null
+                && !connectivity.isActiveNetworkMetered();
     }
 
     /**
@@ -1,7 +1,11 @@
 package com.example.bariatric_mobile.models.patient;
 
+import com.example.bariatric_mobile.utils.DataFormatter;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.Locale;
+import java.util.Objects;
+
 /**
  * Represents a patient in the application.
  * This model is used for displaying and transferring patient data,
@@ -27,6 +31,42 @@ public class Patient {
     @SerializedName("status")
     private String status;
 
+    /**
+     * The date of the last status change, if reported by the backend.
+     */
+    @SerializedName("updated_at")
+    private String updatedAt;
+
+    /**
+     * The submission date parsed once into epoch milliseconds; not serialized.
+     */
+    private transient long submissionEpochMillis;
+    private transient boolean submissionParsed;
+
+    /**
+     * The submission date as last displayed, and the locale it was formatted for.
+     */
+    private transient String displayDate;
+    private transient Locale displayLocale;
+
+    /**
+     * Creates an empty patient, used by JSON deserialization.
+     */
+    public Patient() {}
+
+    /**
+     * Creates a patient with all fields set, used when reading from local storage.
+     *
+     * @param patientNumber  The patient code.
+     * @param submissionDate The submission date as returned by the backend.
+     * @param status         The survey status.
+     */
+    public Patient(String patientNumber, String submissionDate, String status) {
+        this.patientNumber = patientNumber;
+        this.status = status;
+        setSubmissionDate(submissionDate);
+    }
+
     /**
      * Returns the patient code (ID).
      *
@@ -53,6 +93,49 @@ public class Patient {
         return submissionDate;
     }
 
+    /**
+     * Updates the submission date of the patient's form.
+     *
+     * @param submissionDate The new submission date as returned by the backend.
+     */
+    public void setSubmissionDate(String submissionDate) {
+        this.submissionDate = submissionDate;
+        this.submissionEpochMillis = DataFormatter.parseIsoDate(submissionDate);
+        this.submissionParsed = true;
+        this.displayDate = null;
+    }
+
+    /**
+     * Returns the submission date as epoch milliseconds.
+     * Rows created by JSON deserialization are parsed on first access.
+     *
+     * @return The parsed date, or {@link DataFormatter#NO_DATE} if it is missing or invalid.
+     */
+    public long getSubmissionEpochMillis() {
+        if (!submissionParsed) {
+            submissionEpochMillis = DataFormatter.parseIsoDate(submissionDate);
+            submissionParsed = true;
+        }
+        return submissionEpochMillis;
+    }
+
+    /**
+     * Returns the submission date formatted for display (dd.MM.yyyy).
+     * The text is kept on the row and only formatted again if the default locale changes.
+     *
+     * @return The formatted date, the raw value if it cannot be parsed, or "" if missing.
+     */
+    public String getDisplaySubmissionDate() {
+        Locale locale = Locale.getDefault();
+        String text = displayDate;
+        if (text == null || !locale.equals(displayLocale)) {
+            text = DataFormatter.formatDate(getSubmissionEpochMillis(), submissionDate);
+            displayLocale = locale;
+            displayDate = text;
+        }
+        return text;
+    }
+
     /**
      * Returns the current status of the patient.
      *
@@ -70,4 +153,44 @@ public class Patient {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    /**
+     * Returns the date of the last status change, if reported by the backend.
+     *
+     * @return The status change date, or null if unknown.
+     */
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Updates the date of the last status change.
+     *
+     * @param updatedAt The status change date as returned by the backend.
+     */
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Returns the date of the last change of this row, as used for synchronization.
+     *
+     * @return The last status change date if known, otherwise the submission date.
+     */
+    public String getLastModified() {
+        return updatedAt != null ? updatedAt : submissionDate;
+    }
+
+    /**
+     * Checks whether another patient row carries the same displayed data.
+     *
+     * @param other The patient to compare with.
+     * @return True if code, submission date and status are all equal.
+     */
+    public boolean hasSameContent(Patient other) {
+        return other != null
+                && Objects.equals(patientNumber, other.patientNumber)
+                && Objects.equals(submissionDate, other.submissionDate)
+                && Objects.equals(status, other.status);
+    }
 }
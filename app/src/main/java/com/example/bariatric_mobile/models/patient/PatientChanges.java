@@ -0,0 +1,144 @@
+package com.example.bariatric_mobile.models.patient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set of row-level differences between two versions of the patient list.
+ * <p>
+ * Produced when a freshly downloaded list is merged into the local store,
+ * so observers can apply only the rows that actually changed instead of
+ * replacing the whole list.
+ */
+public class PatientChanges {
+
+    private final List<Patient> upserted;
+    private final Set<String> removedCodes;
+
+    /**
+     * Creates a new change set.
+     *
+     * @param upserted     Patients that were added or whose data changed.
+     * @param removedCodes Codes of patients that no longer exist.
+     */
+    public PatientChanges(List<Patient> upserted, Set<String> removedCodes) {
+        this.upserted = Collections.unmodifiableList(upserted);
+        this.removedCodes = Collections.unmodifiableSet(removedCodes);
+    }
+
+    /**
+     * Computes the changes needed to turn {@code current} into {@code updated}.
+     * Patients without a code are ignored.
+     *
+     * @param current The list currently held locally.
+     * @param updated The new list received from the server.
+     * @return The rows to insert or update and the codes to remove.
+     */
+    public static PatientChanges between(List<Patient> current, List<Patient> updated) {
+        Map<String, Patient> currentByCode = indexByCode(current);
+        Set<String> seen = new HashSet<>();
+        List<Patient> upserted = changedRows(currentByCode, updated, seen);
+
+        Set<String> removed = new HashSet<>(currentByCode.keySet());
+        removed.removeAll(seen);
+        return new PatientChanges(upserted, removed);
+    }
+
+    /**
+     * Computes the changes caused by merging a partial list of new or modified rows
+     * into {@code current}. Rows missing from {@code delta} are kept.
+     *
+     * @param current The list currently held locally.
+     * @param delta   Rows received from an incremental sync.
+     * @return The rows to insert or update; no rows are removed.
+     */
+    public static PatientChanges merging(List<Patient> current, List<Patient> delta) {
+        List<Patient> upserted = changedRows(indexByCode(current), delta, new HashSet<>());
+        return new PatientChanges(upserted, new HashSet<>());
+    }
+
+    private static Map<String, Patient> indexByCode(List<Patient> patients) {
+        Map<String, Patient> byCode = new LinkedHashMap<>();
+        for (Patient patient : patients) {
+            if (patient.getCode() != null) {
+                byCode.put(patient.getCode(), patient);
+            }
+        }
+        return byCode;
+    }
+
+    private static List<Patient> changedRows(Map<String, Patient> currentByCode, List<Patient> incoming, Set<String> seen) {
+        List<Patient> changed = new ArrayList<>();
+        for (Patient patient : incoming) {
+            String code = patient.getCode();
+            if (code == null || !seen.add(code)) continue;
+            if (!patient.hasSameContent(currentByCode.get(code))) {
+                changed.add(patient);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return Patients that were added or changed.
+     */
+    public List<Patient> getUpserted() {
+        return upserted;
+    }
+
+    /**
+     * @return Codes of patients that were removed.
+     */
+    public Set<String> getRemovedCodes() {
+        return removedCodes;
+    }
+
+    /**
+     * @return True if nothing changed.
+     */
+    public boolean isEmpty() {
+        return upserted.isEmpty() && removedCodes.isEmpty();
+    }
+
+    /**
+     * Applies the changes to a list, keeping the order of existing rows.
+     * New rows are placed at the front of the list.
+     *
+     * @param list The list to update.
+     * @return A new list with the changes applied.
+     */
+    public List<Patient> applyTo(List<Patient> list) {
+        Map<String, Patient> changedByCode = new LinkedHashMap<>();
+        for (Patient patient : upserted) {
+            changedByCode.put(patient.getCode(), patient);
+        }
+
+        List<Patient> result = new ArrayList<>(list.size() + upserted.size());
+        Set<String> replaced = new HashSet<>();
+        for (Patient patient : list) {
+            String code = patient.getCode();
+            if (code != null && removedCodes.contains(code)) continue;
+            Patient changed = code != null ? changedByCode.get(code) : null;
+            if (changed != null) {
+                result.add(changed);
+                replaced.add(code);
+            } else {
+                result.add(patient);
+            }
+        }
+
+        List<Patient> added = new ArrayList<>();
+        for (Patient patient : upserted) {
+            if (!replaced.contains(patient.getCode())) {
+                added.add(patient);
+            }
+        }
+        result.addAll(0, added);
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.bariatric_mobile.models.patient;
+
+import java.util.Arrays;
+
+/**
+ * Substring index over the patient codes of a {@link PatientTable}, used by the dashboard search.
+ * <p>
+ * Every code is split into lowercase trigrams (three-character fragments). A query
+ * of three or more characters only checks the rows whose code contains its rarest
+ * trigram, so most patients are never looked at. Shorter queries scan the code
+ * pool of the table. Neither path creates strings per row.
+ * <p>
+ * Postings refer to the stable row IDs of the table, so {@link #update(PatientTable)}
+ * with a table derived through {@link PatientTable#applying(PatientChanges)} only
+ * indexes the rows that were added. Methods are synchronized, so the index may be
+ * updated and queried from different threads.
+ */
+public class PatientCodeIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_ROWS = new int[0];
+
+    private PatientTable table;
+    private Object lineage;
+
+    /** Row of each indexed row ID in {@link #table}, -1 once the row is removed */
+    private int[] rowById = new int[0];
+    /** Row IDs below this value have their trigrams indexed */
+    private int indexedIds;
+    private int removedCount;
+
+    private final GramTable postingsByGram = new GramTable();
+
+    /**
+     * Creates an index over the given table.
+     *
+     * @param table The table to index.
+     */
+    public PatientCodeIndex(PatientTable table) {
+        update(table);
+    }
+
+    /**
+     * Binds the index to a new version of the table.
+     * <p>
+     * If the table was derived from the indexed one, rows already indexed only get
+     * their new position and removed rows are skipped. An unrelated table, or one
+     * where most indexed rows have been removed, is indexed from scratch.
+     *
+     * @param table The current table.
+     */
+    public synchronized void update(PatientTable table) {
+        if (table.getLineage() != lineage || removedCount > indexedIds / 2) {
+            clear();
+            lineage = table.getLineage();
+        }
+
+        int nextRowId = table.getNextRowId();
+        if (rowById.length < nextRowId) {
+            rowById = Arrays.copyOf(rowById, Math.max(nextRowId, rowById.length * 2));
+        }
+        Arrays.fill(rowById, -1);
+
+        for (int row = 0; row < table.size(); row++) {
+            int id = table.getRowId(row);
+            rowById[id] = row;
+            if (id >= indexedIds) {
+                addGrams(table, row, id);
+            }
+        }
+
+        removedCount = 0;
+        for (int id = 0; id < nextRowId; id++) {
+            if (rowById[id] < 0) removedCount++;
+        }
+        indexedIds = nextRowId;
+        this.table = table;
+    }
+
+    /**
+     * Finds the rows whose code contains the query, ignoring case.
+     *
+     * @param query The search text; null or blank matches every row.
+     * @return Matching row indexes of the indexed table, in ascending order.
+     */
+    public synchronized int[] findRows(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return table.allRows();
+        }
+        char[] needle = new char[query.length()];
+        for (int i = 0; i < needle.length; i++) {
+            needle[i] = PatientTable.toLowerCase(query.charAt(i));
+        }
+
+        if (needle.length < GRAM_LENGTH) {
+            int[] matches = new int[table.size()];
+            int count = 0;
+            for (int row = 0; row < table.size(); row++) {
+                if (table.codeContainsLowerCase(row, needle)) matches[count++] = row;
+            }
+            return Arrays.copyOf(matches, count);
+        }
+
+        Postings candidates = rarestPostings(needle);
+        if (candidates == null) return NO_ROWS;
+
+        int[] matches = new int[candidates.size];
+        int count = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            int row = rowById[candidates.ids[i]];
+            if (row >= 0 && table.codeContainsLowerCase(row, needle)) {
+                matches[count++] = row;
+            }
+        }
+        int[] result = Arrays.copyOf(matches, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return The table the index is currently bound to.
+     */
+    public synchronized PatientTable getIndexedTable() {
+        return table;
+    }
+
+    private Postings rarestPostings(char[] needle) {
+        Postings rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= needle.length; i++) {
+            Postings postings = postingsByGram.get(gram(needle[i], needle[i + 1], needle[i + 2]));
+            if (postings == null) return null;
+            if (rarest == null || postings.size < rarest.size) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private void addGrams(PatientTable table, int row, int id) {
+        int length = table.getCodeLength(row);
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i + GRAM_LENGTH <= length; i++) {
+            long gram = gram(table.getLowerCodeChar(row, i),
+                    table.getLowerCodeChar(row, i + 1),
+                    table.getLowerCodeChar(row, i + 2));
+            if (gram == previous) continue;
+            postingsByGram.getOrCreate(gram).addOnce(id);
+            previous = gram;
+        }
+    }
+
+    private void clear() {
+        rowById = new int[0];
+        indexedIds = 0;
+        removedCount = 0;
+        postingsByGram.clear();
+    }
+
+    private static long gram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    /**
+     * Open-addressing map from packed trigram to its postings, avoiding a boxed key per lookup.
+     */
+    private static final class GramTable {
+        private long[] keys = new long[64];
+        private Postings[] values = new Postings[64];
+        private int size;
+
+        Postings get(long gram) {
+            int mask = keys.length - 1;
+            for (int i = hash(gram) & mask; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) return values[i];
+            }
+            return null;
+        }
+
+        Postings getOrCreate(long gram) {
+            int mask = keys.length - 1;
+            int i = hash(gram) & mask;
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) return values[i];
+            }
+            Postings postings = new Postings();
+            keys[i] = gram;
+            values[i] = postings;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return postings;
+        }
+
+        void clear() {
+            keys = new long[64];
+            values = new Postings[64];
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] == null) continue;
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != null) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int hash(long gram) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * Growable list of row IDs containing one trigram, in ascending order.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void addOnce(int id) {
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
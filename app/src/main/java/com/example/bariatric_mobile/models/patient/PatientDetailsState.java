@@ -0,0 +1,88 @@
+package com.example.bariatric_mobile.models.patient;
+
+/**
+ * Immutable content of the patient details screen: the survey details and the
+ * weight prediction of one patient, loaded together.
+ * <p>
+ * Either part may be missing if its request failed; the error message of a
+ * failed part is kept, so the screen can show what it has and explain the rest.
+ */
+public final class PatientDetailsState {
+
+    private final String patientCode;
+    private final SurveyData details;
+    private final PredictionResponse prediction;
+    private final String detailsError;
+    private final String predictionError;
+
+    /**
+     * Creates a state from the outcome of both requests.
+     *
+     * @param patientCode     The patient code
+     * @param details         The survey details, or null if they could not be loaded
+     * @param detailsError    Why the details could not be loaded, or null
+     * @param prediction      The prediction, or null if it could not be loaded
+     * @param predictionError Why the prediction could not be loaded, or null
+     */
+    public PatientDetailsState(String patientCode, SurveyData details, String detailsError,
+                               PredictionResponse prediction, String predictionError) {
+        this.patientCode = patientCode;
+        this.details = details;
+        this.detailsError = details == null ? nonNullError(detailsError) : null;
+        this.prediction = prediction;
+        this.predictionError = prediction == null ? nonNullError(predictionError) : null;
+    }
+
+    /**
+     * @return The patient code
+     */
+    public String getPatientCode() {
+        return patientCode;
+    }
+
+    /**
+     * @return The survey details, or null if they could not be loaded
+     */
+    public SurveyData getDetails() {
+        return details;
+    }
+
+    /**
+     * @return The prediction, or null if it could not be loaded
+     */
+    public PredictionResponse getPrediction() {
+        return prediction;
+    }
+
+    /**
+     * @return Why the details could not be loaded, or null if they were
+     */
+    public String getDetailsError() {
+        return detailsError;
+    }
+
+    /**
+     * @return Why the prediction could not be loaded, or null if it was
+     */
+    public String getPredictionError() {
+        return predictionError;
+    }
+
+    /**
+     * @return True if both the details and the prediction were loaded
+     */
+    public boolean isComplete() {
+        return details != null && prediction != null;
+    }
+
+    /**
+     * @return True if neither the details nor the prediction could be loaded
+     */
+    public boolean isFailed() {
+        return details == null && prediction == null;
+    }
+
+    private static String nonNullError(String error) {
+        return error != null ? error : "";
+    }
+}
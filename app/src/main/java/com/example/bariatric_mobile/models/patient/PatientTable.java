@@ -0,0 +1,536 @@
+package com.example.bariatric_mobile.models.patient;
+
+import com.example.bariatric_mobile.utils.DataFormatter;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact, column-oriented copy of the patient list shown on the dashboard.
+ * <p>
+ * Instead of one {@link Patient} object and three strings per row, the table keeps
+ * all codes in a single character pool with offsets, submission dates as epoch days
+ * and statuses as IDs into a dictionary of the distinct status strings. {@link Patient} objects are only created for the
+ * rows that are actually displayed, through {@link #view(int[])}.
+ * <p>
+ * Only the calendar date of the submission is kept, which is all the dashboard
+ * shows; dates that cannot be parsed are kept as text. A table is immutable, so it
+ * can be read from any thread; {@link #applying(PatientChanges)} and
+ * {@link #withStatus(int, String)} return a new table. Rows keep a stable ID across tables derived from each other, which
+ * lets {@link PatientCodeIndex} update its index incrementally.
+ */
+public final class PatientTable {
+
+    /** Submission day of rows without a parsable date */
+    public static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Identifies tables derived from each other, which share row IDs and statuses */
+    private final Object lineage;
+    private final StatusDictionary statuses;
+    private final int nextRowId;
+
+    private final int size;
+    private final char[] codePool;
+    private final int[] codeStart;
+    private final BitSet nullCodes;
+    private final int[] submissionDays;
+    private final Map<Integer, String> unparsedDates;
+    private final int[] statusIds;
+    private final int[] rowIds;
+
+    /** Rows ordered by code, built on the first lookup by code */
+    private volatile int[] rowsByCode;
+
+    private PatientTable(Builder builder) {
+        this.lineage = builder.lineage;
+        this.statuses = builder.statuses;
+        this.nextRowId = builder.nextRowId;
+        this.size = builder.size;
+        this.codePool = Arrays.copyOf(builder.codePool, builder.poolSize);
+        this.codeStart = Arrays.copyOf(builder.codeStart, builder.size + 1);
+        this.nullCodes = (BitSet) builder.nullCodes.clone();
+        this.submissionDays = Arrays.copyOf(builder.submissionDays, builder.size);
+        this.unparsedDates = new HashMap<>(builder.unparsedDates);
+        this.statusIds = Arrays.copyOf(builder.statusIds, builder.size);
+        this.rowIds = Arrays.copyOf(builder.rowIds, builder.size);
+    }
+
+    /**
+     * Creates a table sharing every column of {@code source} except the statuses.
+     */
+    private PatientTable(PatientTable source, int[] statusIds) {
+        this.lineage = source.lineage;
+        this.statuses = source.statuses;
+        this.nextRowId = source.nextRowId;
+        this.size = source.size;
+        this.codePool = source.codePool;
+        this.codeStart = source.codeStart;
+        this.nullCodes = source.nullCodes;
+        this.submissionDays = source.submissionDays;
+        this.unparsedDates = source.unparsedDates;
+        this.statusIds = statusIds;
+        this.rowIds = source.rowIds;
+        this.rowsByCode = source.rowsByCode;
+    }
+
+    /**
+     * Creates a table holding the given patients in the same order.
+     *
+     * @param patients The patients to copy.
+     * @return A new table.
+     */
+    public static PatientTable of(List<Patient> patients) {
+        Builder builder = new Builder();
+        for (Patient patient : patients) {
+            builder.add(patient);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row The row index.
+     * @return The patient code, or null if the row has none.
+     */
+    public String getCode(int row) {
+        if (nullCodes.get(row)) return null;
+        return new String(codePool, codeStart[row], codeStart[row + 1] - codeStart[row]);
+    }
+
+    /**
+     * @param row The row index.
+     * @return The submission date as days since 1970-01-01, or {@link #NO_DAY}.
+     */
+    public int getSubmissionDay(int row) {
+        return submissionDays[row];
+    }
+
+    /**
+     * @param row The row index.
+     * @return The status, or null if the row has none.
+     */
+    public String getStatus(int row) {
+        return statuses.nameOf(statusIds[row]);
+    }
+
+    /**
+     * Returns a table with the status of one row changed, e.g. when a new
+     * submission has been opened. Only the status column is copied; rows keep
+     * their indexes and IDs.
+     *
+     * @param row    The row index.
+     * @param status The new status.
+     * @return A new table; this table is not modified.
+     */
+    public PatientTable withStatus(int row, String status) {
+        int[] changed = Arrays.copyOf(statusIds, size);
+        changed[row] = statuses.idOf(status);
+        return new PatientTable(this, changed);
+    }
+
+    /**
+     * Creates a {@link Patient} with the data of one row.
+     *
+     * @param row The row index.
+     * @return A new patient object.
+     */
+    public Patient getPatient(int row) {
+        return new Patient(getCode(row), getSubmissionDate(row), getStatus(row));
+    }
+
+    /**
+     * Returns a read-only list of the given rows. Patients are created when
+     * elements are read, so the list itself costs only the row array.
+     *
+     * @param rows Row indexes, in display order.
+     * @return A list view backed by this table.
+     */
+    public List<Patient> view(int[] rows) {
+        return new RowView(rows);
+    }
+
+    /**
+     * @return Indexes of every row, in order.
+     */
+    public int[] allRows() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) rows[i] = i;
+        return rows;
+    }
+
+    /**
+     * Finds the row of a patient code.
+     *
+     * @param code The patient code.
+     * @return The row index, or -1 if the code is not in the table.
+     */
+    public int indexOf(String code) {
+        if (code == null) return -1;
+        int[] sorted = sortedRows();
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareCode(sorted[mid], code);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return sorted[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new table with the changes applied, in the same way as
+     * {@link PatientChanges#applyTo(List)}: existing rows keep their order and
+     * new rows are placed at the front.
+     *
+     * @param changes The changes to apply.
+     * @return A new table; this table is not modified.
+     */
+    public PatientTable applying(PatientChanges changes) {
+        Map<Integer, Patient> replacements = new HashMap<>();
+        List<Patient> added = new ArrayList<>();
+        for (Patient patient : changes.getUpserted()) {
+            int row = indexOf(patient.getCode());
+            if (row >= 0) {
+                replacements.put(row, patient);
+            } else {
+                added.add(patient);
+            }
+        }
+        BitSet removed = new BitSet(size);
+        for (String code : changes.getRemovedCodes()) {
+            int row = indexOf(code);
+            if (row >= 0) removed.set(row);
+        }
+
+        Builder builder = new Builder(lineage, statuses, nextRowId, size + added.size(), codePool.length);
+        for (Patient patient : added) {
+            builder.add(patient);
+        }
+        for (int row = 0; row < size; row++) {
+            if (removed.get(row)) continue;
+            Patient replacement = replacements.get(row);
+            if (replacement != null) {
+                builder.add(replacement, rowIds[row]);
+            } else {
+                builder.copy(this, row);
+            }
+        }
+        return builder.build();
+    }
+
+    Object getLineage() {
+        return lineage;
+    }
+
+    int getRowId(int row) {
+        return rowIds[row];
+    }
+
+    int getNextRowId() {
+        return nextRowId;
+    }
+
+    int getCodeLength(int row) {
+        return codeStart[row + 1] - codeStart[row];
+    }
+
+    char getLowerCodeChar(int row, int index) {
+        return toLowerCase(codePool[codeStart[row] + index]);
+    }
+
+    /**
+     * Lowercases a character, avoiding the Unicode tables for ASCII.
+     */
+    static char toLowerCase(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Checks whether the code of a row contains a lowercase needle, ignoring case,
+     * without creating a string.
+     */
+    boolean codeContainsLowerCase(int row, char[] needle) {
+        if (nullCodes.get(row)) return false;
+        int start = codeStart[row];
+        int last = codeStart[row + 1] - needle.length;
+        char first = needle[0];
+        for (int from = start; from <= last; from++) {
+            if (toLowerCase(codePool[from]) != first) continue;
+            int i = 1;
+            while (i < needle.length && toLowerCase(codePool[from + i]) == needle[i]) {
+                i++;
+            }
+            if (i == needle.length) return true;
+        }
+        return false;
+    }
+
+    private String getSubmissionDate(int row) {
+        int day = submissionDays[row];
+        if (day == NO_DAY) return unparsedDates.get(row);
+        return LocalDate.ofEpochDay(day) + "T00:00:00";
+    }
+
+    private int compareCode(int row, String code) {
+        int start = codeStart[row];
+        int length = codeStart[row + 1] - start;
+        int common = Math.min(length, code.length());
+        for (int i = 0; i < common; i++) {
+            int diff = codePool[start + i] - code.charAt(i);
+            if (diff != 0) return diff;
+        }
+        return length - code.length();
+    }
+
+    private int compareRows(int a, int b) {
+        int startA = codeStart[a];
+        int startB = codeStart[b];
+        int lengthA = codeStart[a + 1] - startA;
+        int lengthB = codeStart[b + 1] - startB;
+        int common = Math.min(lengthA, lengthB);
+        for (int i = 0; i < common; i++) {
+            int diff = codePool[startA + i] - codePool[startB + i];
+            if (diff != 0) return diff;
+        }
+        return lengthA - lengthB;
+    }
+
+    private int[] sortedRows() {
+        int[] sorted = rowsByCode;
+        if (sorted == null) {
+            sorted = new int[size - nullCodes.cardinality()];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (!nullCodes.get(row)) sorted[count++] = row;
+            }
+            mergeSort(sorted, new int[sorted.length], 0, sorted.length);
+            rowsByCode = sorted;
+        }
+        return sorted;
+    }
+
+    private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid);
+        mergeSort(rows, buffer, mid, to);
+        if (compareRows(rows[mid - 1], rows[mid]) <= 0) return;
+
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compareRows(buffer[left], buffer[right]) <= 0)) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Appends rows to a new table.
+     */
+    public static final class Builder {
+        private final Object lineage;
+        private final StatusDictionary statuses;
+        private int nextRowId;
+
+        private int size;
+        private char[] codePool;
+        private int poolSize;
+        private int[] codeStart;
+        private final BitSet nullCodes = new BitSet();
+        private int[] submissionDays;
+        private final Map<Integer, String> unparsedDates = new HashMap<>();
+        private int[] statusIds;
+        private int[] rowIds;
+
+        /**
+         * Creates a builder for a new, independent table.
+         */
+        public Builder() {
+            this(new Object(), new StatusDictionary(), 0, 16, 128);
+        }
+
+        private Builder(Object lineage, StatusDictionary statuses, int nextRowId, int rowCapacity, int poolCapacity) {
+            this.lineage = lineage;
+            this.statuses = statuses;
+            this.nextRowId = nextRowId;
+            int rows = Math.max(rowCapacity, 1);
+            this.codePool = new char[Math.max(poolCapacity, 16)];
+            this.codeStart = new int[rows + 1];
+            this.submissionDays = new int[rows];
+            this.statusIds = new int[rows];
+            this.rowIds = new int[rows];
+        }
+
+        /**
+         * Appends a patient as the last row.
+         *
+         * @param patient The patient to copy.
+         * @return This builder.
+         */
+        public Builder add(Patient patient) {
+            return add(patient, nextRowId++);
+        }
+
+        /**
+         * @return The number of rows appended so far.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return A table with the rows appended so far; the builder can keep appending.
+         */
+        public PatientTable build() {
+            return new PatientTable(this);
+        }
+
+        private Builder add(Patient patient, int rowId) {
+            int row = startRow(rowId);
+            String code = patient.getCode();
+            if (code == null) {
+                nullCodes.set(row);
+            } else {
+                ensurePool(code.length());
+                code.getChars(0, code.length(), codePool, poolSize);
+                poolSize += code.length();
+            }
+            codeStart[row + 1] = poolSize;
+
+            long millis = patient.getSubmissionEpochMillis();
+            if (millis == DataFormatter.NO_DATE) {
+                submissionDays[row] = NO_DAY;
+                if (patient.getSubmissionDate() != null) {
+                    unparsedDates.put(row, patient.getSubmissionDate());
+                }
+            } else {
+                submissionDays[row] = (int) Math.floorDiv(millis, MILLIS_PER_DAY);
+            }
+            statusIds[row] = statuses.idOf(patient.getStatus());
+            return this;
+        }
+
+        private void copy(PatientTable source, int sourceRow) {
+            int row = startRow(source.rowIds[sourceRow]);
+            if (source.nullCodes.get(sourceRow)) {
+                nullCodes.set(row);
+            } else {
+                int length = source.getCodeLength(sourceRow);
+                ensurePool(length);
+                System.arraycopy(source.codePool, source.codeStart[sourceRow], codePool, poolSize, length);
+                poolSize += length;
+            }
+            codeStart[row + 1] = poolSize;
+
+            submissionDays[row] = source.submissionDays[sourceRow];
+            if (submissionDays[row] == NO_DAY && source.unparsedDates.containsKey(sourceRow)) {
+                unparsedDates.put(row, source.unparsedDates.get(sourceRow));
+            }
+            statusIds[row] = source.statusIds[sourceRow];
+        }
+
+        private int startRow(int rowId) {
+            if (size == rowIds.length) {
+                int capacity = size * 2;
+                codeStart = Arrays.copyOf(codeStart, capacity + 1);
+                submissionDays = Arrays.copyOf(submissionDays, capacity);
+                statusIds = Arrays.copyOf(statusIds, capacity);
+                rowIds = Arrays.copyOf(rowIds, capacity);
+            }
+            int row = size++;
+            codeStart[row] = poolSize;
+            rowIds[row] = rowId;
+            return row;
+        }
+
+        private void ensurePool(int extra) {
+            if (poolSize + extra > codePool.length) {
+                codePool = Arrays.copyOf(codePool, Math.max(codePool.length * 2, poolSize + extra));
+            }
+        }
+    }
+
+    /**
+     * Maps status strings to IDs; shared by tables of one lineage.
+     * The server sends only a handful of statuses, so lookups scan the names.
+     */
+    private static final class StatusDictionary {
+        private volatile String[] names = new String[0];
+
+        String nameOf(int id) {
+            return names[id];
+        }
+
+        int idOf(String status) {
+            int id = find(names, status);
+            return id >= 0 ? id : add(status);
+        }
+
+        private synchronized int add(String status) {
+            String[] current = names;
+            int id = find(current, status);
+            if (id >= 0) return id;
+            String[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = status;
+            names = grown;
+            return current.length;
+        }
+
+        private static int find(String[] names, String status) {
+            for (int i = 0; i < names.length; i++) {
+                if (Objects.equals(names[i], status)) return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * List of selected rows, creating patients as they are read.
+     */
+    private final class RowView extends AbstractList<Patient> implements RandomAccess {
+        private final int[] rows;
+
+        RowView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Patient get(int index) {
+            return getPatient(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+}
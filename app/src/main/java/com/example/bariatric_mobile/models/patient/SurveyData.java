@@ -1,5 +1,7 @@
 package com.example.bariatric_mobile.models.patient;
 
+import com.example.bariatric_mobile.utils.DataFormatter;
+
 import java.util.List;
 
 /**
@@ -47,6 +49,8 @@ public class SurveyData {
     private String status;
     private String date;
     private String submissionDate;
+    private transient long dateEpochMillis;
+    private transient boolean dateParsed;
 
     /**
      * Default constructor creating an empty SurveyData object.
@@ -543,7 +547,23 @@ public class SurveyData {
      *
      * @param date Date in ISO format
      */
-    public void setDate(String date) { this.date = date; }
+    public void setDate(String date) {
+        this.date = date;
+        this.dateParsed = false;
+    }
+
+    /**
+     * Returns the survey date as epoch milliseconds, parsed once on first access.
+     *
+     * @return The parsed date, or {@link DataFormatter#NO_DATE} if it is missing or invalid
+     */
+    public long getDateEpochMillis() {
+        if (!dateParsed) {
+            dateEpochMillis = DataFormatter.parseIsoDate(date);
+            dateParsed = true;
+        }
+        return dateEpochMillis;
+    }
 
     /**
      * Returns the survey submission date.
@@ -3,16 +3,18 @@ package com.example.bariatric_mobile.repositories;
 import android.content.Context;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.example.bariatric_mobile.models.auth.AuthResponse;
 import com.example.bariatric_mobile.models.auth.LoginRequest;
 import com.example.bariatric_mobile.models.auth.User;
-import com.example.bariatric_mobile.services.local.SessionManager;
-import com.example.bariatric_mobile.services.local.TokenManager;
+import com.example.bariatric_mobile.services.local.CredentialStore;
 import com.example.bariatric_mobile.services.network.ApiClient;
-import com.example.bariatric_mobile.services.network.AuthApiService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -24,31 +26,48 @@ import retrofit2.Response;
  * Handles login, logout, and authentication state management using secure
  * local storage for tokens and user data. Provides LiveData objects for
  * observing authentication state changes in the UI layer.
+ * <p>
+ * The credential store is opened on a background thread, so creating the
+ * repository never blocks the main thread on the keystore or encrypted storage.
+ * Operations started before it is open run once it is, and
+ * {@link #getAuthenticationState()} reports when it is.
  */
 public class AuthRepository {
-    private final TokenManager tokenManager;
-    private final SessionManager sessionManager;
-    private final AuthApiService authApiService;
+    private final Context appContext;
+    private final CompletableFuture<CredentialStore> credentials;
 
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> loginError = new MutableLiveData<>();
     private final MutableLiveData<AuthResponse> loginSuccess = new MutableLiveData<>();
     private final MutableLiveData<User> currentUser = new MutableLiveData<>();
+    private final MutableLiveData<Boolean> authenticationState = new MutableLiveData<>();
 
     /**
      * Creates a new AuthRepository instance with required dependencies.
-     * Initializes secure storage managers and API client, then loads
-     * current user session if available.
+     * Opens the shared credential store in the background, then registers it
+     * with the API client and loads the current user session if available.
      *
      * @param context Application context for accessing storage and API services
      */
     public AuthRepository(Context context) {
-        this.tokenManager = new TokenManager(context);
-        this.sessionManager = new SessionManager(context);
-        ApiClient.initialize(context, tokenManager);
-        this.authApiService = ApiClient.getAuthService();
+        this(context.getApplicationContext(), CredentialStore.openAsync(context));
+    }
 
-        loadCurrentUser();
+    /**
+     * Constructor for testing that allows a custom credential store.
+     *
+     * @param appContext  Application context for the API client and caches
+     * @param credentials Future completed with the credential store
+     */
+    @VisibleForTesting
+    AuthRepository(Context appContext, CompletableFuture<CredentialStore> credentials) {
+        this.appContext = appContext;
+        this.credentials = credentials;
+
+        credentials.thenAccept(store -> {
+            ApiClient.initialize(appContext, store);
+            loadCurrentUser(store);
+        });
     }
 
     /**
@@ -79,10 +98,20 @@ public class AuthRepository {
      */
     public LiveData<User> getCurrentUser() { return currentUser; }
 
+    /**
+     * Returns LiveData reporting whether a valid session is stored.
+     * It has no value until the credential store is open, then true or false.
+     *
+     * @return LiveData containing the authentication state, or null while loading
+     */
+    public LiveData<Boolean> getAuthenticationState() { return authenticationState; }
+
     /**
      * Performs user login with provided credentials.
      * Updates loading state and handles API response, storing authentication
-     * data on success or setting error message on failure.
+     * data on success or setting error message on failure. The request is sent
+     * once the credential store is open; if it cannot be opened, loading ends
+     * with a login error.
      *
      * @param loginRequest Contains user email and password for authentication
      */
@@ -90,7 +119,17 @@ public class AuthRepository {
         isLoading.setValue(true);
         loginError.setValue(null);
 
-        authApiService.login(loginRequest).enqueue(new Callback<>() {
+        credentials.thenAccept(store -> sendLogin(store, loginRequest))
+                .exceptionally(t -> {
+                    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    isLoading.postValue(false);
+                    loginError.postValue(cause.getMessage() != null ? cause.getMessage() : cause.toString());
+                    return null;
+                });
+    }
+
+    private void sendLogin(CredentialStore credentialStore, LoginRequest loginRequest) {
+        ApiClient.getAuthService().login(loginRequest).enqueue(new Callback<>() {
             @Override
             public void onResponse(@NonNull Call<AuthResponse> call, @NonNull Response<AuthResponse> response) {
                 isLoading.postValue(false);
@@ -98,8 +137,8 @@ public class AuthRepository {
                 if (response.isSuccessful() && response.body() != null) {
                     AuthResponse authResponse = response.body();
 
-                    tokenManager.setToken(authResponse.getToken());
-                    sessionManager.storeUser(authResponse.getUser());
+                    credentialStore.storeSession(authResponse.getToken(), authResponse.getUser());
+                    ApiClient.resetSessionExpiry();
 
                     currentUser.postValue(authResponse.getUser());
                     loginSuccess.postValue(authResponse);
@@ -118,39 +157,30 @@ public class AuthRepository {
 
     /**
      * Logs out the current user by clearing all stored authentication data.
-     * Removes tokens, user session data, and resets all LiveData states.
+     * Removes tokens, user session data, the stored patient list and cached patient details,
+     * and resets all LiveData states.
      */
     public void logout() {
-        tokenManager.removeToken();
-        sessionManager.clearUser();
+        credentials.thenAccept(CredentialStore::clear);
+        PatientRepository.clearLocalData(appContext);
         currentUser.postValue(null);
+        authenticationState.postValue(false);
 
         loginSuccess.postValue(null);
         loginError.setValue(null);
     }
 
     /**
-     * Checks if user is currently authenticated.
-     * Verifies both token and user session data exist.
-     *
-     * @return True if user has valid authentication data, false otherwise
-     */
-    public boolean isAuthenticated() {
-        boolean hasToken = tokenManager.hasToken();
-        boolean hasUser = sessionManager.hasUser();
-
-        return hasToken && hasUser;
-    }
-
-    /**
-     * Loads current user from session storage if authenticated.
-     * Called during repository initialization to restore user state.
+     * Publishes the authentication state and, if authenticated, the stored user.
+     * Called once the credential store is open; checks that both token and user
+     * exist and that the token has not expired, without any network round trip.
      */
-    private void loadCurrentUser() {
-        if (isAuthenticated()) {
-            User user = sessionManager.getUser();
-            currentUser.postValue(user);
+    private void loadCurrentUser(CredentialStore credentialStore) {
+        boolean authenticated = credentialStore.isAuthenticated();
+        if (authenticated) {
+            currentUser.postValue(credentialStore.getUser());
         }
+        authenticationState.postValue(authenticated);
     }
 
     /**
@@ -0,0 +1,23 @@
+package com.example.bariatric_mobile.repositories;
+
+/**
+ * Handle of a request that can be stopped before it completes.
+ * <p>
+ * Cancelling stops the transfer and parsing of the response where possible and
+ * guarantees that the request's callback is not called afterwards. Cancelling a
+ * completed or already cancelled request does nothing.
+ *
+ * @example
+ * <pre>
+ * Cancellable request = repository.fetchPatientDetailsState(patientId);
+ * // The screen goes away before the response arrives
+ * request.cancel();
+ * </pre>
+ */
+public interface Cancellable {
+
+    /**
+     * Stops the request if it is still running.
+     */
+    void cancel();
+}
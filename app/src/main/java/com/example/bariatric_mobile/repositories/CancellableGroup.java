@@ -0,0 +1,65 @@
+package com.example.bariatric_mobile.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancels several requests together, e.g. the parts of one repository
+ * operation or all requests made for one screen.
+ * <p>
+ * Requests added after the group was cancelled are cancelled right away, so
+ * work started on a background thread cannot outlive a cancellation that
+ * happened while it was being scheduled. Safe to use from any thread.
+ *
+ * @example
+ * <pre>
+ * CancellableGroup requests = new CancellableGroup();
+ * requests.add(repository.fetchAllPatients(callback));
+ * // In ViewModel.onCleared()
+ * requests.cancel();
+ * </pre>
+ */
+public class CancellableGroup implements Cancellable {
+
+    private final List<Cancellable> requests = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Adds a request to the group, or cancels it if the group is already cancelled.
+     *
+     * @param request The request to add
+     */
+    public void add(Cancellable request) {
+        synchronized (this) {
+            if (!cancelled) {
+                requests.add(request);
+                return;
+            }
+        }
+        request.cancel();
+    }
+
+    /**
+     * Cancels every request added so far and every request added later.
+     */
+    @Override
+    public void cancel() {
+        List<Cancellable> running;
+        synchronized (this) {
+            if (cancelled) return;
+            cancelled = true;
+            running = new ArrayList<>(requests);
+            requests.clear();
+        }
+        for (Cancellable request : running) {
+            request.cancel();
+        }
+    }
+
+    /**
+     * @return True if the group has been cancelled
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bariatric_mobile.repositories;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms the detail caches for the patients shown on a dashboard page, so opening
+ * one of them needs no network round trip.
+ * <p>
+ * Patients with a new submission ("NOWA") are prefetched first, the rest in page
+ * order. At most a fixed number of patients are loaded at once, leaving the
+ * remaining connections to requests the user is waiting for. Prefetching a new
+ * page replaces the previous one, while asking again for the same page keeps the
+ * prefetch running, e.g. when the list was republished unchanged.
+ * {@link #cancel()} stops all of it, e.g. while the list is scrolled. Safe to use
+ * from any thread.
+ *
+ * @example
+ * <pre>
+ * DetailsPrefetcher prefetcher = new DetailsPrefetcher(
+ *         repository::prefetchPatientDetails, DetailsPrefetcher.DEFAULT_MAX_CONCURRENT);
+ * prefetcher.prefetch(visibleRows);
+ * // The user scrolls or changes the page
+ * prefetcher.cancel();
+ * </pre>
+ */
+public class DetailsPrefetcher {
+
+    /** Default number of patients prefetched at once */
+    public static final int DEFAULT_MAX_CONCURRENT = 2;
+
+    /** Status of a patient whose survey has not been viewed yet */
+    static final String NEW_STATUS = "NOWA";
+
+    /**
+     * Loads the details of one patient into the caches.
+     */
+    public interface Loader {
+        /**
+         * @param patientCode The patient to prefetch
+         * @param done        To be called once the patient is cached or failed
+         * @return Handle cancelling the prefetch
+         */
+        Cancellable prefetch(String patientCode, Runnable done);
+    }
+
+    private final Loader loader;
+    private final int maxConcurrent;
+
+    private final Deque<String> queued = new ArrayDeque<>();
+    /** Patients being loaded; the handle is null until the loader has returned it */
+    private final Map<String, Cancellable> running = new HashMap<>();
+    /** Prefetch order of the current page, empty after cancelling */
+    private List<String> current = new ArrayList<>();
+    private int generation;
+
+    /**
+     * Creates a new DetailsPrefetcher.
+     *
+     * @param loader        Loader prefetching individual patients
+     * @param maxConcurrent Maximum number of patients loaded at once
+     */
+    public DetailsPrefetcher(Loader loader, int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.loader = loader;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Starts prefetching the given patients, cancelling the prefetch of a
+     * different page. Patients of the same page are not prefetched again.
+     *
+     * @param patients The patients shown, in page order
+     */
+    public synchronized void prefetch(List<Patient> patients) {
+        List<String> order = priorityOrder(patients);
+        if (order.equals(current)) return;
+        cancel();
+        current = order;
+        for (String code : order) {
+            if (!queued.contains(code)) {
+                queued.add(code);
+            }
+        }
+        startNext();
+    }
+
+    /**
+     * Cancels running prefetches and drops the queued ones.
+     */
+    public synchronized void cancel() {
+        generation++;
+        current = new ArrayList<>();
+        queued.clear();
+        List<Cancellable> handles = new ArrayList<>(running.values());
+        running.clear();
+        for (Cancellable handle : handles) {
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+
+    /**
+     * @return True if patients are queued or being loaded
+     */
+    public synchronized boolean isActive() {
+        return !queued.isEmpty() || !running.isEmpty();
+    }
+
+    /**
+     * Orders patients for prefetching: new submissions first, otherwise in page order.
+     *
+     * @param patients The patients shown, in page order
+     * @return Codes of the patients in prefetch order
+     */
+    static List<String> priorityOrder(List<Patient> patients) {
+        List<String> first = new ArrayList<>();
+        List<String> rest = new ArrayList<>();
+        for (Patient patient : patients) {
+            if (patient == null || patient.getCode() == null) continue;
+            if (NEW_STATUS.equalsIgnoreCase(patient.getStatus())) {
+                first.add(patient.getCode());
+            } else {
+                rest.add(patient.getCode());
+            }
+        }
+        first.addAll(rest);
+        return first;
+    }
+
+    private void startNext() {
+        while (running.size() < maxConcurrent && !queued.isEmpty()) {
+            String code = queued.poll();
+            int requestGeneration = generation;
+            running.put(code, null);
+            Cancellable handle = loader.prefetch(code, () -> finished(code, requestGeneration));
+            if (running.containsKey(code) && requestGeneration == generation) {
+                running.put(code, handle);
+            }
+        }
+    }
+
+    private synchronized void finished(String code, int requestGeneration) {
+        if (requestGeneration != generation) return;
+        running.remove(code);
+        startNext();
+    }
+}
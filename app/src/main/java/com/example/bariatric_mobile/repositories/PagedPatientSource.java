@@ -0,0 +1,208 @@
+package com.example.bariatric_mobile.repositories;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page-by-page source of dashboard patients backed by a {@link PageLoader}.
+ * <p>
+ * Pages are loaded on demand, the page after the last one requested is
+ * prefetched, and only a bounded window of recently used pages is kept in
+ * memory, so the footprint does not depend on the number of patients.
+ * Changing the search query discards the window, cancels page loads still
+ * running for the old query and starts from page 1.
+ */
+public class PagedPatientSource {
+
+    /** Number of pages kept in memory at once */
+    static final int MAX_CACHED_PAGES = 5;
+
+    /**
+     * Loads one page of patients matching a query.
+     */
+    public interface PageLoader {
+        /**
+         * Loads the requested page and reports it through the callback.
+         *
+         * @param page     1-based page number
+         * @param size     Number of patients per page
+         * @param query    Patient code fragment, empty for all patients
+         * @param callback Callback to receive the page
+         * @return Handle cancelling the load
+         */
+        Cancellable loadPage(int page, int size, String query, PageCallback callback);
+    }
+
+    /**
+     * Receives the result of a single page load.
+     */
+    public interface PageCallback {
+        /**
+         * Called when the page has been loaded.
+         *
+         * @param rows       Patients on the page
+         * @param totalCount Total number of patients matching the query
+         */
+        void onPageLoaded(List<Patient> rows, int totalCount);
+
+        /**
+         * Called when the page could not be loaded.
+         *
+         * @param message Error message describing the failure
+         */
+        void onError(String message);
+    }
+
+    /**
+     * Notified whenever a page becomes available.
+     */
+    public interface Listener {
+        /**
+         * @param page The page that was loaded
+         * @param rows Patients on the page
+         */
+        void onPageLoaded(int page, List<Patient> rows);
+    }
+
+    private final PageLoader loader;
+    private final int pageSize;
+    private final Listener listener;
+
+    private final Map<Integer, List<Patient>> pages = new LinkedHashMap<Integer, List<Patient>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Patient>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    /** Pages being loaded; the handle is null until the loader has returned it */
+    private final Map<Integer, Cancellable> loading = new HashMap<>();
+
+    private String query = "";
+    private int totalCount = -1;
+    private int generation;
+
+    /**
+     * Creates a new PagedPatientSource.
+     *
+     * @param loader   Loader fetching individual pages
+     * @param pageSize Number of patients per page
+     * @param listener Listener notified when pages are loaded
+     */
+    public PagedPatientSource(PageLoader loader, int pageSize, Listener listener) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns a page if it is in memory and schedules loading otherwise.
+     * The following page is prefetched as soon as the requested one is available.
+     *
+     * @param page 1-based page number
+     * @return The patients on the page, or null if the page is still loading
+     */
+    public synchronized List<Patient> getPage(int page) {
+        List<Patient> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            rows = pages.get(page);
+        }
+        if (rows != null) {
+            load(page + 1);
+        }
+        return rows;
+    }
+
+    /**
+     * Changes the search query, discarding loaded pages and loading page 1.
+     *
+     * @param newQuery Patient code fragment; null or blank shows all patients
+     */
+    public synchronized void setQuery(String newQuery) {
+        query = newQuery == null ? "" : newQuery.trim();
+        refresh();
+    }
+
+    /**
+     * Discards loaded pages and reloads page 1 for the current query.
+     */
+    public synchronized void refresh() {
+        cancelLoads();
+        pages.clear();
+        totalCount = -1;
+        load(1);
+    }
+
+    /**
+     * Cancels the page loads still running; their results are discarded.
+     * Pages requested afterwards are loaded again.
+     */
+    public synchronized void cancelLoads() {
+        generation++;
+        List<Cancellable> running = new ArrayList<>(loading.values());
+        loading.clear();
+        for (Cancellable load : running) {
+            if (load != null) {
+                load.cancel();
+            }
+        }
+    }
+
+    /**
+     * @return Total number of patients matching the query, or -1 if not known yet
+     */
+    public synchronized int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return The current search query
+     */
+    public synchronized String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return Number of pages currently held in memory
+     */
+    synchronized int getCachedPageCount() {
+        return pages.size();
+    }
+
+    private void load(int page) {
+        if (page < 1 || pages.containsKey(page) || loading.containsKey(page)) return;
+        if (page > 1 && totalCount >= 0 && (page - 1) * pageSize >= totalCount) return;
+
+        loading.put(page, null);
+        int requestGeneration = generation;
+        Cancellable handle = loader.loadPage(page, pageSize, query, new PageCallback() {
+            @Override
+            public void onPageLoaded(List<Patient> rows, int total) {
+                synchronized (PagedPatientSource.this) {
+                    if (requestGeneration != generation) return;
+                    loading.remove(page);
+                    pages.put(page, rows);
+                    totalCount = total;
+                }
+                listener.onPageLoaded(page, rows);
+            }
+
+            @Override
+            public void onError(String message) {
+                synchronized (PagedPatientSource.this) {
+                    if (requestGeneration == generation) {
+                        loading.remove(page);
+                    }
+                }
+            }
+        });
+        if (loading.containsKey(page) && requestGeneration == generation) {
+            loading.put(page, handle);
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.example.bariatric_mobile.repositories;
 
+import android.content.Context;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientChanges;
+import com.example.bariatric_mobile.models.patient.PatientDetailsState;
 import com.example.bariatric_mobile.models.patient.PredictionResponse;
 import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.example.bariatric_mobile.services.local.PatientDetailsCache;
+import com.example.bariatric_mobile.services.local.PatientDetailsDiskCache;
+import com.example.bariatric_mobile.services.local.PatientStore;
 import com.example.bariatric_mobile.services.network.ApiClient;
 import com.example.bariatric_mobile.services.network.PatientApiService;
+import com.example.bariatric_mobile.services.network.PatientStreamReader;
 import com.example.bariatric_mobile.services.network.PredictionApiService;
+import com.example.bariatric_mobile.utils.SyncWatermark;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -23,99 +40,511 @@ import retrofit2.Response;
  * Handles fetching patient details, predictions, and patient lists from the remote API.
  * Provides LiveData objects for observing data changes in the UI layer following
  * the MVVM architecture pattern.
+ * <p>
+ * When created with a context, the patient list is backed by an on-device
+ * {@link PatientStore}: the stored list is served immediately and then
+ * revalidated against the server, with only the changed rows reported back.
+ * Once the store holds a synced list, revalidation asks only for rows changed
+ * since the stored watermark.
+ * <p>
+ * On first sync the list is streamed: it is parsed and stored chunk by chunk
+ * while it downloads, so the first rows can be shown before the rest arrives
+ * and the full list is never held in memory as objects.
+ * <p>
+ * The survey details and prediction of a patient are requested in parallel and
+ * published together as one {@link PatientDetailsState}.
+ * <p>
+ * Survey details and predictions of recently opened patients are kept in a
+ * process-wide {@link PatientDetailsCache}. A cached value is published right
+ * away; the server is only asked again once it is older than the cache's time
+ * to live, or after a sync reported the patient as changed.
+ * When created with a context, they are also kept in an encrypted
+ * {@link PatientDetailsDiskCache}, which is read before the server is asked,
+ * so patients opened earlier are shown without a network round trip after a
+ * restart too. Concurrent requests for the same patient, e.g. from a double tap
+ * or a recreated screen, share one download through a {@link SingleFlight}.
+ * <p>
+ * Details can be prefetched into both caches without opening the patient,
+ * e.g. for the rows shown on the dashboard. A prefetch does not mark the survey
+ * as viewed; that happens once the details are shown, at most once per patient
+ * until a sync reports the patient as changed.
+ * <p>
+ * Every request returns a {@link Cancellable}. Cancelling it, e.g. when the
+ * screen that asked goes away, stops the transfer and parsing of the response
+ * and its callback is not called. A shared detail download is only stopped
+ * once no other request waits for it.
  */
 public class PatientRepository {
 
+    /** Single background thread for local store reads and writes */
+    private static final ExecutorService storeExecutor = Executors.newSingleThreadExecutor();
+
+    /** Details and predictions of recently opened patients, shared by all instances */
+    private static final PatientDetailsCache detailsCache = new PatientDetailsCache();
+
+    /** Detail and prediction downloads in flight, shared by all instances */
+    private static final SingleFlight<String, SurveyData> detailFlights = new SingleFlight<>();
+    private static final SingleFlight<String, PredictionResponse> predictionFlights = new SingleFlight<>();
+
+    /** Patients whose survey was marked as viewed by this process */
+    private static final Set<String> viewedSurveys = ConcurrentHashMap.newKeySet();
+
+    /** Single background thread for the encrypted detail cache */
+    private static final ExecutorService detailsExecutor = Executors.newSingleThreadExecutor();
+
     private final PatientApiService patientApiService;
     private final PredictionApiService predictionApiService;
+    private final PatientStore patientStore;
+    private final PatientDetailsDiskCache diskCache;
 
-    private final MutableLiveData<SurveyData> patientDetails = new MutableLiveData<>();
-    private final MutableLiveData<PredictionResponse> prediction = new MutableLiveData<>();
+    private final MutableLiveData<PatientDetailsState> detailsState = new MutableLiveData<>();
 
     /**
-     * Creates a new PatientRepository instance.
+     * Creates a new PatientRepository instance without local storage.
      * Initializes API service instances from ApiClient.
      */
     public PatientRepository() {
         this.patientApiService = ApiClient.getPatientService();
         this.predictionApiService = ApiClient.getPredictionService();
+        this.patientStore = null;
+        this.diskCache = null;
+    }
+
+    /**
+     * Creates a new PatientRepository instance backed by the on-device patient store.
+     *
+     * @param context Context used to open the local patient store
+     */
+    public PatientRepository(Context context) {
+        this.patientApiService = ApiClient.getPatientService();
+        this.predictionApiService = ApiClient.getPredictionService();
+        this.patientStore = PatientStore.getInstance(context);
+        this.diskCache = PatientDetailsDiskCache.getInstance(context);
     }
 
     /**
-     * Returns LiveData for observing patient details changes.
+     * Constructor for testing that uses the given API services and no local storage.
      *
-     * @return LiveData containing patient survey data
+     * @param patientApiService    Service for survey requests
+     * @param predictionApiService Service for prediction requests
      */
-    public LiveData<SurveyData> getPatientDetails() {
-        return patientDetails;
+    @VisibleForTesting
+    PatientRepository(PatientApiService patientApiService, PredictionApiService predictionApiService) {
+        this.patientApiService = patientApiService;
+        this.predictionApiService = predictionApiService;
+        this.patientStore = null;
+        this.diskCache = null;
     }
 
     /**
-     * Returns LiveData for observing prediction data changes.
+     * Returns LiveData for observing the details screen content.
      *
-     * @return LiveData containing patient weight loss predictions
+     * @return LiveData containing the survey details and prediction of the
+     * patient last requested through {@link #fetchPatientDetailsState(String)}
      */
-    public LiveData<PredictionResponse> getPrediction() {
-        return prediction;
+    public LiveData<PatientDetailsState> getDetailsState() {
+        return detailsState;
     }
 
     /**
-     * Fetches detailed patient data from the API.
-     * Automatically updates survey status and posts data to LiveData on success.
+     * Deletes all patient data kept on the device: the stored patient list with
+     * its sync watermark, and cached survey details and predictions in memory
+     * and on disk. Called whenever a session ends, by logout or by expiry, so
+     * the next user of the device never sees it.
+     * <p>
+     * Disk work runs on the store and detail cache threads, after any work
+     * already queued there.
+     *
+     * @param context Context used to reach the local store and the disk cache
+     */
+    public static void clearLocalData(Context context) {
+        detailsCache.clear();
+        viewedSurveys.clear();
+        detailsExecutor.execute(() -> PatientDetailsDiskCache.getInstance(context).clear());
+        storeExecutor.execute(() -> PatientStore.getInstance(context).clear());
+    }
+
+    /**
+     * Fetches the survey details and prediction of a patient together and posts
+     * them as one {@link PatientDetailsState}.
+     * <p>
+     * Both are looked up in memory, or else in the disk cache. If both are cached
+     * they are posted right away. Parts that are missing or stale are then
+     * requested from the API in parallel, and a single state is posted once both
+     * requests have finished. A failed part keeps its stale cached value if there
+     * is one, otherwise the state carries the error. Fetching the details also
+     * marks the survey as viewed.
+     * <p>
+     * Once cancelled, no state is posted for this call, and downloads no other
+     * request waits for are stopped.
      *
      * @param patientId The unique identifier of the patient to fetch
+     * @return Handle cancelling the downloads
      */
-    public void fetchPatientDetails(String patientId) {
-        patientApiService.getPatientDetails(patientId).enqueue(new Callback<>() {
+    public Cancellable fetchPatientDetailsState(String patientId) {
+        CancellableGroup request = new CancellableGroup();
+        if (diskCache == null || detailsCache.contains(patientId)) {
+            loadDetailsState(patientId, request);
+        } else {
+            detailsExecutor.execute(() -> {
+                if (request.isCancelled()) return;
+                restoreFromDisk(patientId);
+                loadDetailsState(patientId, request);
+            });
+        }
+        return request;
+    }
+
+    /**
+     * Posts the cached state if complete and requests the parts that are missing or stale.
+     */
+    private void loadDetailsState(String patientId, CancellableGroup request) {
+        PatientDetailsCache.Cached<SurveyData> cachedDetails = detailsCache.getDetails(patientId);
+        PatientDetailsCache.Cached<PredictionResponse> cachedPrediction = detailsCache.getPrediction(patientId);
+        boolean detailsFresh = cachedDetails != null && cachedDetails.isFresh();
+        boolean predictionFresh = cachedPrediction != null && cachedPrediction.isFresh();
+
+        if (cachedDetails != null) {
+            markSurveyViewed(patientId);
+        }
+        if (cachedDetails != null && cachedPrediction != null) {
+            detailsState.postValue(new PatientDetailsState(patientId,
+                    cachedDetails.getValue(), null, cachedPrediction.getValue(), null));
+            if (detailsFresh && predictionFresh) return;
+        }
+
+        DetailsStateJoin join = new DetailsStateJoin(patientId,
+                cachedDetails != null ? cachedDetails.getValue() : null,
+                cachedPrediction != null ? cachedPrediction.getValue() : null,
+                detailsState::postValue);
+        if (detailsFresh) {
+            join.details.onSuccess(cachedDetails.getValue());
+        } else {
+            request.add(requestPatientDetails(patientId, join.details));
+        }
+        if (predictionFresh) {
+            join.prediction.onSuccess(cachedPrediction.getValue());
+        } else {
+            request.add(requestPrediction(patientId, join.prediction));
+        }
+    }
+
+    /**
+     * Waits for the details and the prediction request of one patient and
+     * reports one {@link PatientDetailsState} once both have finished.
+     */
+    @VisibleForTesting
+    static final class DetailsStateJoin {
+
+        /**
+         * Receives the joined state.
+         */
+        interface Listener {
+            void onState(PatientDetailsState state);
+        }
+
+        final SingleFlight.Callback<SurveyData> details;
+        final SingleFlight.Callback<PredictionResponse> prediction;
+
+        private final String patientCode;
+        private final Listener listener;
+        private final AtomicInteger remaining = new AtomicInteger(2);
+
+        private volatile SurveyData detailsValue;
+        private volatile String detailsError;
+        private volatile PredictionResponse predictionValue;
+        private volatile String predictionError;
+
+        /**
+         * @param patientCode        The patient code
+         * @param fallbackDetails    Stale details kept if the details request fails, or null
+         * @param fallbackPrediction Stale prediction kept if the prediction request fails, or null
+         * @param listener           Receives the joined state
+         */
+        DetailsStateJoin(String patientCode, SurveyData fallbackDetails,
+                         PredictionResponse fallbackPrediction, Listener listener) {
+            this.patientCode = patientCode;
+            this.listener = listener;
+            this.details = new SingleFlight.Callback<SurveyData>() {
+                @Override
+                public void onSuccess(SurveyData value) {
+                    detailsValue = value;
+                    partDone();
+                }
+
+                @Override
+                public void onError(String message) {
+                    detailsValue = fallbackDetails;
+                    detailsError = message;
+                    partDone();
+                }
+            };
+            this.prediction = new SingleFlight.Callback<PredictionResponse>() {
+                @Override
+                public void onSuccess(PredictionResponse value) {
+                    predictionValue = value;
+                    partDone();
+                }
+
+                @Override
+                public void onError(String message) {
+                    predictionValue = fallbackPrediction;
+                    predictionError = message;
+                    partDone();
+                }
+            };
+        }
+
+        private void partDone() {
+            if (remaining.decrementAndGet() == 0) {
+                listener.onState(new PatientDetailsState(patientCode,
+                        detailsValue, detailsError, predictionValue, predictionError));
+            }
+        }
+    }
+
+    /**
+     * Downloads the details of a patient for display, joining a download already
+     * in flight for it, and marks the survey as viewed once they arrive.
+     *
+     * @param patientId The unique identifier of the patient
+     * @param callback  Receives the downloaded details
+     * @return Handle withdrawing the callback, stopping the download if no one else waits for it
+     */
+    @VisibleForTesting
+    Cancellable requestPatientDetails(String patientId, SingleFlight.Callback<SurveyData> callback) {
+        return requestDetailsDownload(patientId, new SingleFlight.Callback<SurveyData>() {
+            @Override
+            public void onSuccess(SurveyData value) {
+                markSurveyViewed(patientId);
+                callback.onSuccess(value);
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        });
+    }
+
+    /**
+     * Downloads the details of a patient, joining a download already in flight for it.
+     */
+    private Cancellable requestDetailsDownload(String patientId, SingleFlight.Callback<SurveyData> callback) {
+        detailFlights.request(patientId, callback, this::downloadPatientDetails);
+        return () -> detailFlights.cancel(patientId, callback);
+    }
+
+    /**
+     * Calls the API for the details of a patient and caches them.
+     */
+    private Cancellable downloadPatientDetails(String patientId, SingleFlight.Callback<SurveyData> done) {
+        Call<SurveyData> call = patientApiService.getPatientDetails(patientId);
+        call.enqueue(new Callback<>() {
             @Override
             public void onResponse(@NonNull Call<SurveyData> call, @NonNull Response<SurveyData> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     SurveyData surveyData = response.body();
-                    updateSurveyStatus(patientId);
-                    patientDetails.postValue(surveyData);
+                    detailsCache.putDetails(patientId, surveyData);
+                    if (diskCache != null) {
+                        detailsExecutor.execute(() ->
+                                diskCache.writeDetails(patientId, surveyData, System.currentTimeMillis()));
+                    }
+                    done.onSuccess(surveyData);
+                } else {
+                    done.onError(String.valueOf(response.code()));
                 }
             }
 
             @Override
             public void onFailure(@NonNull Call<SurveyData> call, @NonNull Throwable t) {
+                done.onError(t.getMessage());
             }
         });
+        return call::cancel;
     }
 
     /**
-     * Fetches weight loss predictions for a patient from the API.
-     * Posts prediction data to LiveData on successful response.
+     * Downloads the prediction of a patient, joining a download already in flight for it.
      *
-     * @param patientId The unique identifier of the patient for predictions
+     * @param patientId The unique identifier of the patient
+     * @param callback  Receives the downloaded prediction
+     * @return Handle withdrawing the callback, stopping the download if no one else waits for it
+     */
+    @VisibleForTesting
+    Cancellable requestPrediction(String patientId, SingleFlight.Callback<PredictionResponse> callback) {
+        predictionFlights.request(patientId, callback, this::downloadPrediction);
+        return () -> predictionFlights.cancel(patientId, callback);
+    }
+
+    /**
+     * Calls the API for the prediction of a patient and caches it.
      */
-    public void fetchPrediction(String patientId) {
-        predictionApiService.getPrediction(patientId).enqueue(new Callback<>() {
+    private Cancellable downloadPrediction(String patientId, SingleFlight.Callback<PredictionResponse> done) {
+        Call<PredictionResponse> call = predictionApiService.getPrediction(patientId);
+        call.enqueue(new Callback<>() {
             @Override
             public void onResponse(@NonNull Call<PredictionResponse> call, @NonNull Response<PredictionResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    prediction.postValue(response.body());
+                    PredictionResponse result = response.body();
+                    detailsCache.putPrediction(patientId, result);
+                    if (diskCache != null) {
+                        detailsExecutor.execute(() ->
+                                diskCache.writePrediction(patientId, result, System.currentTimeMillis()));
+                    }
+                    done.onSuccess(result);
+                } else {
+                    done.onError(String.valueOf(response.code()));
                 }
             }
 
             @Override
             public void onFailure(@NonNull Call<PredictionResponse> call, @NonNull Throwable t) {
+                done.onError(t.getMessage());
+            }
+        });
+        return call::cancel;
+    }
+
+    /**
+     * Loads the survey details and prediction of a patient into the caches
+     * without publishing them or marking the survey as viewed, so opening the
+     * patient later needs no network round trip.
+     * <p>
+     * Parts that are cached and fresh, in memory or on disk, are not downloaded.
+     * Downloads are shared with requests made when the patient is opened, so
+     * opening a patient being prefetched does not download it twice. Cancelling
+     * stops downloads no one else waits for.
+     *
+     * @param patientId The unique identifier of the patient
+     * @param done      Called once both parts are cached or have failed; not called after cancelling
+     * @return Handle cancelling the prefetch
+     */
+    public Cancellable prefetchPatientDetails(String patientId, Runnable done) {
+        CancellableGroup request = new CancellableGroup();
+        if (diskCache == null || detailsCache.contains(patientId)) {
+            prefetchMissing(patientId, request, done);
+        } else {
+            detailsExecutor.execute(() -> {
+                if (request.isCancelled()) return;
+                restoreFromDisk(patientId);
+                prefetchMissing(patientId, request, done);
+            });
+        }
+        return request;
+    }
+
+    /**
+     * Downloads the parts of a patient that are not cached or are stale.
+     */
+    private void prefetchMissing(String patientId, CancellableGroup request, Runnable done) {
+        PatientDetailsCache.Cached<SurveyData> cachedDetails = detailsCache.getDetails(patientId);
+        PatientDetailsCache.Cached<PredictionResponse> cachedPrediction = detailsCache.getPrediction(patientId);
+        boolean needsDetails = cachedDetails == null || !cachedDetails.isFresh();
+        boolean needsPrediction = cachedPrediction == null || !cachedPrediction.isFresh();
+
+        AtomicInteger remaining = new AtomicInteger((needsDetails ? 1 : 0) + (needsPrediction ? 1 : 0));
+        if (remaining.get() == 0) {
+            done.run();
+            return;
+        }
+        if (needsDetails) {
+            request.add(requestDetailsDownload(patientId, prefetchPart(remaining, request, done)));
+        }
+        if (needsPrediction) {
+            request.add(requestPrediction(patientId, prefetchPart(remaining, request, done)));
+        }
+    }
+
+    /**
+     * Creates the callback of one prefetched part, running {@code done} after the last one.
+     */
+    private static <V> SingleFlight.Callback<V> prefetchPart(AtomicInteger remaining,
+                                                             CancellableGroup request, Runnable done) {
+        return new SingleFlight.Callback<V>() {
+            @Override
+            public void onSuccess(V value) {
+                partDone();
+            }
+
+            @Override
+            public void onError(String message) {
+                partDone();
+            }
+
+            private void partDone() {
+                if (remaining.decrementAndGet() == 0 && !request.isCancelled()) {
+                    done.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * Copies the disk cache entry of a patient into memory, unless memory already holds one.
+     * Runs on {@link #detailsExecutor}.
+     */
+    private void restoreFromDisk(String patientId) {
+        if (detailsCache.contains(patientId)) return;
+        PatientDetailsDiskCache.Entry entry = diskCache.read(patientId);
+        if (entry != null) {
+            detailsCache.restore(patientId, entry.getDetails(), entry.getDetailsSavedAt(),
+                    entry.getPrediction(), entry.getPredictionSavedAt());
+        }
+    }
+
+    /**
+     * Drops the cached details of the patients changed by a sync, in memory and on disk.
+     * Both are dropped on {@link #detailsExecutor}, so a concurrent disk read cannot
+     * restore an outdated entry afterwards.
+     *
+     * @param changes Changes reported by the sync
+     */
+    private void invalidateCachedDetails(PatientChanges changes) {
+        if (changes.isEmpty()) return;
+        for (Patient patient : changes.getUpserted()) {
+            viewedSurveys.remove(patient.getCode());
+        }
+        for (String code : changes.getRemovedCodes()) {
+            viewedSurveys.remove(code);
+        }
+        if (diskCache == null) {
+            detailsCache.invalidate(changes);
+            return;
+        }
+        detailsExecutor.execute(() -> {
+            detailsCache.invalidate(changes);
+            for (Patient patient : changes.getUpserted()) {
+                diskCache.remove(patient.getCode());
+            }
+            for (String code : changes.getRemovedCodes()) {
+                diskCache.remove(code);
             }
         });
     }
 
     /**
      * Updates the survey status for a patient to mark it as viewed.
-     * Called automatically when patient details are fetched.
+     * Called automatically when patient details are shown; the server is only
+     * asked once per patient until a sync reports the patient as changed, or
+     * again after a failed update.
      *
      * @param patientId The unique identifier of the patient
      */
-    private void updateSurveyStatus(String patientId) {
+    private void markSurveyViewed(String patientId) {
+        if (!viewedSurveys.add(patientId)) return;
         patientApiService.updateSurveyStatus(patientId).enqueue(new Callback<>() {
             @Override
-            public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {}
+            public void onResponse(@NonNull Call<Void> call, @NonNull Response<Void> response) {
+                if (!response.isSuccessful()) {
+                    viewedSurveys.remove(patientId);
+                }
+            }
 
             @Override
-            public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {}
+            public void onFailure(@NonNull Call<Void> call, @NonNull Throwable t) {
+                viewedSurveys.remove(patientId);
+            }
         });
     }
 
@@ -137,26 +566,293 @@ public class PatientRepository {
          * @param message Error message describing the failure
          */
         void onError(String message);
+
+        /**
+         * Called after a list delivered through {@link #onSuccess(List)} has been
+         * revalidated against the server and some rows changed.
+         *
+         * @param changes Rows that were added, changed or removed
+         */
+        default void onChanges(PatientChanges changes) {}
+
+        /**
+         * Called instead of {@link #onSuccess(List)} when the list is streamed from
+         * the server on first sync. Chunks arrive in list order on a background
+         * thread, each one after it has been stored.
+         *
+         * @param chunk The next rows of the list
+         * @param last  Whether the list is complete with this chunk
+         */
+        default void onChunk(List<Patient> chunk, boolean last) {}
     }
 
     /**
-     * Fetches all patients from the API and returns results via callback.
+     * Fetches all patients and returns results via callback.
      * Uses callback pattern instead of LiveData for one-time operations.
      *
+     * <p>With a local store, the stored list is delivered first through
+     * {@link PatientListCallback#onSuccess(List)}, then the rows changed since the
+     * last sync are downloaded in the background, merged into the store and only
+     * the differences are delivered through
+     * {@link PatientListCallback#onChanges(PatientChanges)}. On first sync the list
+     * is streamed into the store and delivered through
+     * {@link PatientListCallback#onChunk(List, boolean)} as it arrives.</p>
+     *
+     * <p>Once cancelled, the callback is no longer called and the download is
+     * stopped. A list that was already downloaded is still merged into the store.
+     * A stream stopped half way leaves the store without a watermark, so the
+     * next fetch downloads the full list again.</p>
+     *
      * @param callback Callback to handle success or error responses
+     * @return Handle cancelling the download
+     */
+    public Cancellable fetchAllPatients(PatientListCallback callback) {
+        CancellableGroup request = new CancellableGroup();
+        PatientListCallback target = new CancellableListCallback(callback, request);
+        if (patientStore == null) {
+            request.add(fetchRemotePatients(target, false));
+            return request;
+        }
+
+        storeExecutor.execute(() -> {
+            if (request.isCancelled()) return;
+            List<Patient> cached = patientStore.getAll();
+            String watermark = patientStore.getWatermark();
+            boolean hasCached = !cached.isEmpty();
+            if (hasCached) {
+                target.onSuccess(cached);
+            }
+            if (hasCached && watermark != null) {
+                request.add(fetchChangedPatients(target, watermark));
+            } else if (hasCached) {
+                request.add(fetchRemotePatients(target, true));
+            } else {
+                request.add(streamRemotePatients(target, request));
+            }
+        });
+        return request;
+    }
+
+    /**
+     * Forwards to a list callback until its request is cancelled.
+     */
+    private static final class CancellableListCallback implements PatientListCallback {
+        private final PatientListCallback callback;
+        private final CancellableGroup request;
+
+        CancellableListCallback(PatientListCallback callback, CancellableGroup request) {
+            this.callback = callback;
+            this.request = request;
+        }
+
+        @Override
+        public void onSuccess(List<Patient> result) {
+            if (!request.isCancelled()) callback.onSuccess(result);
+        }
+
+        @Override
+        public void onError(String message) {
+            if (!request.isCancelled()) callback.onError(message);
+        }
+
+        @Override
+        public void onChanges(PatientChanges changes) {
+            if (!request.isCancelled()) callback.onChanges(changes);
+        }
+
+        @Override
+        public void onChunk(List<Patient> chunk, boolean last) {
+            if (!request.isCancelled()) callback.onChunk(chunk, last);
+        }
+    }
+
+    /**
+     * Downloads only the rows changed since the watermark and merges them into the local store.
+     *
+     * @param callback  Callback to deliver the changes to
+     * @param watermark Newest modification date already held locally
+     * @return Handle cancelling the download
+     */
+    private Cancellable fetchChangedPatients(PatientListCallback callback, String watermark) {
+        Call<List<Patient>> call = patientApiService.getPatientsChangedSince(watermark);
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(@NonNull Call<List<Patient>> call, @NonNull Response<List<Patient>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    List<Patient> delta = response.body();
+                    if (delta.isEmpty()) return;
+                    storeExecutor.execute(() -> {
+                        PatientChanges changes = patientStore.mergeDelta(delta);
+                        invalidateCachedDetails(changes);
+                        if (!changes.isEmpty()) {
+                            callback.onChanges(changes);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<Patient>> call, @NonNull Throwable t) {
+            }
+        });
+        return call::cancel;
+    }
+
+    /**
+     * Downloads the patient list and delivers it, merging it into the local store if present.
+     *
+     * @param callback  Callback to deliver the result to
+     * @param hasCached Whether the callback already received the stored list
+     * @return Handle cancelling the download
+     */
+    private Cancellable fetchRemotePatients(PatientListCallback callback, boolean hasCached) {
+        Call<List<Patient>> call = patientApiService.getPatients();
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(@NonNull Call<List<Patient>> call, @NonNull Response<List<Patient>> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    List<Patient> remote = response.body();
+                    if (patientStore == null) {
+                        callback.onSuccess(remote);
+                        return;
+                    }
+                    storeExecutor.execute(() -> {
+                        PatientChanges changes = patientStore.replaceAll(remote);
+                        invalidateCachedDetails(changes);
+                        if (!hasCached) {
+                            callback.onSuccess(remote);
+                        } else if (!changes.isEmpty()) {
+                            callback.onChanges(changes);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<List<Patient>> call, @NonNull Throwable t) {
+            }
+        });
+        return call::cancel;
+    }
+
+    /**
+     * Downloads the patient list into the empty local store without buffering it.
+     * The body is read on the store thread, so later store reads wait until the
+     * list has been written.
+     *
+     * @param callback Callback to deliver the chunks to
+     * @param request  Request whose cancellation stops parsing between chunks
+     * @return Handle cancelling the download
+     */
+    private Cancellable streamRemotePatients(PatientListCallback callback, CancellableGroup request) {
+        Call<ResponseBody> call = patientApiService.streamPatients();
+        call.enqueue(new Callback<>() {
+            @Override
+            public void onResponse(@NonNull Call<ResponseBody> call, @NonNull Response<ResponseBody> response) {
+                ResponseBody body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    storeExecutor.execute(() -> storeStream(body, callback, request));
+                } else if (body != null) {
+                    body.close();
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull Call<ResponseBody> call, @NonNull Throwable t) {
+            }
+        });
+        return call::cancel;
+    }
+
+    /**
+     * Parses a streamed patient list, appending every chunk to the store before delivering it.
      */
-    public void fetchAllPatients(PatientListCallback callback) {
-        patientApiService.getPatients().enqueue(new Callback<>() {
+    private void storeStream(ResponseBody body, PatientListCallback callback, CancellableGroup request) {
+        StoringChunkHandler handler = new StoringChunkHandler(patientStore, callback, request);
+        try (ResponseBody ignored = body) {
+            PatientStreamReader.read(body.charStream(), PatientStreamReader.CHUNK_SIZE, handler);
+        } catch (IOException e) {
+            callback.onError(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes streamed chunks to the store and tracks the watermark of the rows written so far.
+     * Stops reading once the request is cancelled.
+     */
+    private static final class StoringChunkHandler implements PatientStreamReader.ChunkHandler {
+        private final PatientStore store;
+        private final PatientListCallback callback;
+        private final CancellableGroup request;
+        private int stored;
+        private String watermark;
+
+        StoringChunkHandler(PatientStore store, PatientListCallback callback, CancellableGroup request) {
+            this.store = store;
+            this.callback = callback;
+            this.request = request;
+        }
+
+        @Override
+        public void onChunk(List<Patient> chunk, boolean last) throws IOException {
+            if (request.isCancelled()) {
+                throw new IOException("Canceled");
+            }
+            store.append(chunk, stored);
+            stored += chunk.size();
+            watermark = SyncWatermark.advance(watermark, chunk);
+            if (last) {
+                store.finishAppend(watermark);
+            }
+            callback.onChunk(chunk, last);
+        }
+    }
+
+    /**
+     * Fetches a single page of patients from the server, filtered by patient code.
+     * Matches {@link PagedPatientSource.PageLoader}, so it can back a paged source directly.
+     *
+     * @param page     1-based page number
+     * @param size     Number of patients per page
+     * @param query    Patient code fragment, empty for all patients
+     * @param callback Callback to receive the page and the total number of matches
+     * @return Handle cancelling the download
+     */
+    public Cancellable fetchPatientsPage(int page, int size, String query, PagedPatientSource.PageCallback callback) {
+        String code = query == null || query.isEmpty() ? null : query;
+        Call<List<Patient>> call = patientApiService.getPatientsPage(page, size, code);
+        call.enqueue(new Callback<>() {
             @Override
             public void onResponse(@NonNull Call<List<Patient>> call, @NonNull Response<List<Patient>> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    callback.onSuccess(response.body());
+                    List<Patient> rows = response.body();
+                    callback.onPageLoaded(rows, totalCount(response, page, size, rows.size()));
+                } else {
+                    callback.onError(String.valueOf(response.code()));
                 }
             }
 
             @Override
             public void onFailure(@NonNull Call<List<Patient>> call, @NonNull Throwable t) {
+                callback.onError(t.getMessage());
             }
         });
+        return call::cancel;
+    }
+
+    /**
+     * Reads the total number of matches from the {@code X-Total-Count} header.
+     * Without the header, a full page is assumed to be followed by at least one more row.
+     */
+    private static int totalCount(Response<?> response, int page, int size, int rowCount) {
+        String header = response.headers().get("X-Total-Count");
+        if (header != null) {
+            try {
+                return Integer.parseInt(header.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        int seen = (page - 1) * size + rowCount;
+        return rowCount == size ? seen + 1 : seen;
     }
-}
\ No newline at end of file
+}
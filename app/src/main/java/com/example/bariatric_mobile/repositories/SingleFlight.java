@@ -0,0 +1,176 @@
+package com.example.bariatric_mobile.repositories;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces concurrent loads of the same key into one.
+ * <p>
+ * The first request for a key starts its {@link Loader}; requests for the same
+ * key made before the load completes only register their {@link Callback} and
+ * receive the same result. Once a load completes, the next request for the key
+ * starts a new one. Safe to use from any thread; callbacks run on the thread
+ * that completes the load.
+ * <p>
+ * A request can be withdrawn with {@link #cancel(Object, Callback)}. Its callback
+ * is then not called, and the shared load itself is cancelled once no request
+ * waits for it any more.
+ *
+ * @param <K> Type of the key, e.g. a patient code
+ * @param <V> Type of the loaded value
+ *
+ * @example
+ * <pre>
+ * flights.request(patientId, details -&gt; show(details),
+ *         (key, done) -&gt; downloadDetails(key, done));
+ * // A second request for patientId before the download completes
+ * // does not start another download and also receives the details
+ * </pre>
+ * <p>
+ * Withdrawing a request:
+ * <pre>
+ * flights.cancel(patientId, callback);
+ * // The download is cancelled unless another request still waits for it
+ * </pre>
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Receives the result of a load.
+     *
+     * @param <V> Type of the loaded value
+     */
+    public interface Callback<V> {
+        /**
+         * @param value The loaded value
+         */
+        void onSuccess(V value);
+
+        /**
+         * @param message Error message describing the failure
+         */
+        default void onError(String message) {}
+    }
+
+    /**
+     * Starts the load of one key and reports its completion; only the first
+     * completion is delivered.
+     *
+     * @param <K> Type of the key
+     * @param <V> Type of the loaded value
+     */
+    public interface Loader<K, V> {
+        /**
+         * @param key  The key to load
+         * @param done Callback to complete the load with
+         * @return Handle stopping the load, used once no request waits for it
+         */
+        Cancellable load(K key, Callback<V> done);
+    }
+
+    /**
+     * One load in flight and the callbacks waiting for it.
+     */
+    private static final class Flight<V> {
+        final List<Callback<V>> waiting = new ArrayList<>();
+        Cancellable load;
+        boolean abandoned;
+    }
+
+    private final Map<K, Flight<V>> inFlight = new HashMap<>();
+
+    /**
+     * Requests a key, joining a load already in flight for it.
+     *
+     * @param key      The key to load
+     * @param callback Receives the result
+     * @param loader   Starts the load if none is in flight for the key
+     * @return True if a new load was started, false if the request joined one
+     */
+    public boolean request(K key, Callback<V> callback, Loader<K, V> loader) {
+        Flight<V> flight;
+        synchronized (inFlight) {
+            Flight<V> running = inFlight.get(key);
+            if (running != null) {
+                running.waiting.add(callback);
+                return false;
+            }
+            flight = new Flight<>();
+            flight.waiting.add(callback);
+            inFlight.put(key, flight);
+        }
+
+        AtomicBoolean completed = new AtomicBoolean();
+        Cancellable load = loader.load(key, new Callback<V>() {
+            @Override
+            public void onSuccess(V value) {
+                if (completed.getAndSet(true)) return;
+                for (Callback<V> waiting : complete(key, flight)) {
+                    waiting.onSuccess(value);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                if (completed.getAndSet(true)) return;
+                for (Callback<V> waiting : complete(key, flight)) {
+                    waiting.onError(message);
+                }
+            }
+        });
+
+        boolean abandoned;
+        synchronized (inFlight) {
+            flight.load = load;
+            abandoned = flight.abandoned;
+        }
+        if (abandoned) {
+            load.cancel();
+        }
+        return true;
+    }
+
+    /**
+     * Withdraws a request so its callback is not called. If no other request
+     * waits for the same load, the load is cancelled and the next request for
+     * the key starts a new one.
+     *
+     * @param key      The key that was requested
+     * @param callback The callback passed to {@link #request(Object, Callback, Loader)}
+     */
+    public void cancel(K key, Callback<V> callback) {
+        Cancellable load;
+        synchronized (inFlight) {
+            Flight<V> flight = inFlight.get(key);
+            if (flight == null || !flight.waiting.remove(callback) || !flight.waiting.isEmpty()) return;
+            inFlight.remove(key);
+            flight.abandoned = true;
+            load = flight.load;
+        }
+        if (load != null) {
+            load.cancel();
+        }
+    }
+
+    /**
+     * @param key The key to check
+     * @return True if a load of the key is in flight
+     */
+    public boolean isInFlight(K key) {
+        synchronized (inFlight) {
+            return inFlight.containsKey(key);
+        }
+    }
+
+    private List<Callback<V>> complete(K key, Flight<V> flight) {
+        synchronized (inFlight) {
+            inFlight.remove(key, flight);
+            List<Callback<V>> waiting = new ArrayList<>(flight.waiting);
+            flight.waiting.clear();
+            return waiting;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.bariatric_mobile.services;
+
+import android.content.Context;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.bariatric_mobile.services.local.CredentialStore;
+import com.example.bariatric_mobile.services.network.ApiClient;
+import com.example.bariatric_mobile.services.network.JsonAdapters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prepares the application while the splash screen is shown.
+ * <p>
+ * The slow first-use work of the process runs in parallel on background threads:
+ * <ul>
+ *   <li>opening the keystore key and the encrypted credentials and reading the session</li>
+ *   <li>building the shared HTTP client and API services</li>
+ *   <li>creating the shared Gson instance and its type adapters</li>
+ * </ul>
+ * Once all of it has finished, listeners learn where the user should go: to the
+ * dashboard if a valid, unexpired token and a user are stored, otherwise to login.
+ * <p>
+ * Requests made while a run is in progress join it. A request made after a run
+ * has completed starts a new one; it is quick, since the singletons are warm by
+ * then, and it reflects a logout that happened in the meantime.
+ *
+ * @example
+ * <pre>
+ * StartupOrchestrator.getInstance(context).start(destination -&gt;
+ *         runOnUiThread(() -&gt; navigateTo(destination)));
+ * </pre>
+ */
+public class StartupOrchestrator {
+
+    /** Screen to open once startup work has finished */
+    public enum Destination {
+        LOGIN,
+        DASHBOARD
+    }
+
+    /**
+     * Receives the outcome of startup work.
+     */
+    public interface Listener {
+        /**
+         * Called on a background thread once all startup work has finished.
+         *
+         * @param destination The screen to open
+         */
+        void onReady(Destination destination);
+    }
+
+    /** Number of threads running startup work in parallel */
+    private static final int WARM_UP_THREADS = 4;
+
+    private static volatile StartupOrchestrator instance;
+
+    private final Executor executor;
+    private final List<Callable<Boolean>> sessionChecks;
+    private final List<Runnable> warmUps;
+
+    /** Listeners of the run in progress */
+    private final List<Listener> waiting = new ArrayList<>();
+    private boolean running;
+
+    /**
+     * Returns the process-wide orchestrator, creating it on first use.
+     *
+     * @param context Context used to reach the application context
+     * @return Shared StartupOrchestrator instance
+     */
+    public static StartupOrchestrator getInstance(Context context) {
+        StartupOrchestrator result = instance;
+        if (result == null) {
+            synchronized (StartupOrchestrator.class) {
+                result = instance;
+                if (result == null) {
+                    result = new StartupOrchestrator(context.getApplicationContext());
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private StartupOrchestrator(Context appContext) {
+        this(createExecutor(),
+                Collections.singletonList(() -> {
+                    CredentialStore credentialStore = CredentialStore.getInstance(appContext);
+                    ApiClient.initialize(appContext, credentialStore);
+                    return credentialStore.isAuthenticated();
+                }),
+                Arrays.asList(
+                        () -> {
+                            ApiClient.getClient();
+                            ApiClient.getAuthService();
+                            ApiClient.getPatientService();
+                            ApiClient.getPredictionService();
+                        },
+                        JsonAdapters::gson));
+    }
+
+    /**
+     * Constructor for testing that allows custom work and threading.
+     *
+     * @param executor      Runs each piece of work
+     * @param sessionChecks Checks that must all return true for the dashboard to open
+     * @param warmUps       Work whose result is not needed, only its side effects
+     */
+    @VisibleForTesting
+    StartupOrchestrator(Executor executor, List<Callable<Boolean>> sessionChecks, List<Runnable> warmUps) {
+        this.executor = executor;
+        this.sessionChecks = sessionChecks;
+        this.warmUps = warmUps;
+    }
+
+    /**
+     * Starts startup work, or joins the run in progress.
+     *
+     * @param listener Receives the destination once all work has finished
+     */
+    public void start(Listener listener) {
+        synchronized (waiting) {
+            waiting.add(listener);
+            if (running) return;
+            running = true;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(sessionChecks.size() + warmUps.size());
+        AtomicBoolean authenticated = new AtomicBoolean(true);
+
+        if (remaining.get() == 0) {
+            finish(true);
+            return;
+        }
+
+        for (Callable<Boolean> check : sessionChecks) {
+            executor.execute(() -> {
+                if (!passes(check)) {
+                    authenticated.set(false);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    finish(authenticated.get());
+                }
+            });
+        }
+        for (Runnable warmUp : warmUps) {
+            executor.execute(() -> {
+                try {
+                    warmUp.run();
+                } catch (RuntimeException e) {
+                    // Only a head start; the same work is retried, and reported, on first real use
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        finish(authenticated.get());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops delivering the outcome to a listener, e.g. when its screen is destroyed.
+     * The work in progress keeps running.
+     *
+     * @param listener A listener passed to {@link #start(Listener)}
+     */
+    public void removeListener(Listener listener) {
+        synchronized (waiting) {
+            waiting.remove(listener);
+        }
+    }
+
+    private static boolean passes(Callable<Boolean> check) {
+        try {
+            return Boolean.TRUE.equals(check.call());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void finish(boolean authenticated) {
+        List<Listener> listeners;
+        synchronized (waiting) {
+            listeners = new ArrayList<>(waiting);
+            waiting.clear();
+            running = false;
+        }
+        Destination destination = authenticated ? Destination.DASHBOARD : Destination.LOGIN;
+        for (Listener listener : listeners) {
+            listener.onReady(destination);
+        }
+    }
+
+    private static Executor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WARM_UP_THREADS, WARM_UP_THREADS,
+                5, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.bariatric_mobile.services.local;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+import androidx.security.crypto.EncryptedSharedPreferences;
+import androidx.security.crypto.MasterKey;
+
+import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.services.network.JsonAdapters;
+import com.example.bariatric_mobile.services.network.TokenProvider;
+import com.example.bariatric_mobile.utils.JwtExpiryParser;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Secure storage of the session credentials: the authentication token and the
+ * signed-in user.
+ * <p>
+ * Both are kept in one EncryptedSharedPreferences file protected by a single
+ * keystore master key, and fall back to regular SharedPreferences if encryption
+ * setup fails. The process shares one instance, which is the {@link TokenProvider}
+ * of the API client.
+ * <p>
+ * The file is read once, into an immutable in-memory snapshot of token, parsed
+ * token expiry and user. Reads only dereference a volatile field, so they never
+ * lock or touch the disk, even on network threads. Changes replace the snapshot
+ * first and are then written to disk on a background thread, in order.
+ * <p>
+ * Token and user are stored together with a SHA-256 digest of both. On load, a
+ * session where the digest does not match, only one part is present, or the user
+ * cannot be parsed is discarded, and the user has to sign in again.
+ * <p>
+ * Opening the store builds the keystore key and reads encrypted storage, so it
+ * never happens on the main thread: code on the main thread waits for
+ * {@link #openAsync(Context)}, and {@link #getInstance(Context)} is for
+ * background threads only.
+ * <p>
+ * The token and the user used to live in two separate preference files
+ * ({@code auth_preferences} and {@code session_preferences}); they are moved into
+ * this store the first time it is opened.
+ *
+ * @example
+ * <pre>
+ * CredentialStore.openAsync(context).thenAccept(credentials -&gt; {
+ *     if (credentials.isAuthenticated()) showDashboard(credentials.getUser());
+ * });
+ * </pre>
+ */
+public class CredentialStore implements TokenProvider {
+    private static final String PREF_NAME = "credentials";
+    private static final String PREF_TOKEN = "auth_token";
+    private static final String PREF_USER = "auth_user";
+    private static final String PREF_DIGEST = "session_digest";
+
+    /** Former preference files of the token and the user, migrated on first open */
+    private static final String LEGACY_TOKEN_PREF_NAME = "auth_preferences";
+    private static final String LEGACY_SESSION_PREF_NAME = "session_preferences";
+
+    private static volatile CredentialStore instance;
+    private static volatile CompletableFuture<CredentialStore> opening;
+
+    /** Writes changes to disk in the order they were made */
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor();
+
+    private final SharedPreferences preferences;
+    private final Executor executor;
+
+    /** In-memory copy of the stored session, null until first loaded */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the process-wide CredentialStore instance, opening and reading it on
+     * first use. Blocks on keystore and disk access, so it must not be called on
+     * the main thread.
+     *
+     * @param context Context used to reach the application context
+     * @return Shared CredentialStore instance, with the stored session loaded
+     */
+    @WorkerThread
+    public static CredentialStore getInstance(Context context) {
+        CredentialStore result = instance;
+        if (result == null) {
+            synchronized (CredentialStore.class) {
+                result = instance;
+                if (result == null) {
+                    result = new CredentialStore(openPreferences(context.getApplicationContext()), writeExecutor);
+                    result.load();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Opens the process-wide instance on a background thread. Every call returns
+     * the same future; once it has completed, dependent actions run immediately
+     * on the calling thread.
+     *
+     * @param context Context used to reach the application context
+     * @return Future completed with the shared instance once it is open and loaded
+     */
+    public static CompletableFuture<CredentialStore> openAsync(Context context) {
+        CompletableFuture<CredentialStore> result = opening;
+        if (result == null) {
+            synchronized (CredentialStore.class) {
+                result = opening;
+                if (result == null) {
+                    Context appContext = context.getApplicationContext();
+                    result = CompletableFuture.supplyAsync(() -> getInstance(appContext), writeExecutor);
+                    opening = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Constructor for testing that allows custom storage and write threading.
+     *
+     * @param preferences Preferences holding the session
+     * @param executor    Runs the disk writes
+     */
+    @VisibleForTesting
+    public CredentialStore(SharedPreferences preferences, Executor executor) {
+        this.preferences = preferences;
+        this.executor = executor;
+    }
+
+    /**
+     * Stores the credentials of a new session, replacing any previous one.
+     *
+     * @param token The authentication token
+     * @param user  The signed-in user
+     */
+    public void storeSession(String token, User user) {
+        String userJson = user != null ? JsonAdapters.gson().toJson(user) : null;
+        snapshot = new Snapshot(token, user);
+        executor.execute(() -> preferences.edit()
+                .putString(PREF_TOKEN, token)
+                .putString(PREF_USER, userJson)
+                .putString(PREF_DIGEST, digest(token, userJson))
+                .commit());
+    }
+
+    /**
+     * Removes the stored token and user, e.g. on logout or session expiry.
+     */
+    public void clear() {
+        snapshot = Snapshot.EMPTY;
+        executor.execute(() -> preferences.edit()
+                .remove(PREF_TOKEN)
+                .remove(PREF_USER)
+                .remove(PREF_DIGEST)
+                .commit());
+    }
+
+    /**
+     * Returns the stored authentication token.
+     *
+     * @return The stored token or null if none exists
+     */
+    @Override
+    public String getToken() {
+        return load().token;
+    }
+
+    /**
+     * Returns the expiry time read from the token's {@code exp} claim.
+     *
+     * @return Expiry in epoch milliseconds or {@link JwtExpiryParser#NO_EXPIRY} if unknown
+     */
+    public long getTokenExpiry() {
+        return load().expiresAt;
+    }
+
+    /**
+     * Checks whether the stored token carries an {@code exp} claim that has passed.
+     * Tokens without a readable expiry are treated as not expired.
+     *
+     * @return True if the token is known to be expired, false otherwise
+     */
+    @Override
+    public boolean isTokenExpired() {
+        return JwtExpiryParser.isExpired(load().expiresAt, System.currentTimeMillis());
+    }
+
+    /**
+     * Checks if a non-blank authentication token exists.
+     *
+     * @return True if token exists and is not empty, false otherwise
+     */
+    public boolean hasToken() {
+        String token = getToken();
+        return token != null && !token.trim().isEmpty();
+    }
+
+    /**
+     * Checks if a token exists and has not expired.
+     *
+     * @return True if token exists and is not known to be expired, false otherwise
+     */
+    public boolean hasValidToken() {
+        return hasToken() && !isTokenExpired();
+    }
+
+    /**
+     * Returns the signed-in user.
+     *
+     * @return The stored user or null if none exists
+     */
+    public User getUser() {
+        return load().user;
+    }
+
+    /**
+     * Checks if a signed-in user is stored.
+     *
+     * @return True if user data exists, false otherwise
+     */
+    public boolean hasUser() {
+        return load().user != null;
+    }
+
+    /**
+     * Checks if a complete session is stored: an unexpired token and a user.
+     *
+     * @return True if the user can skip the login screen
+     */
+    public boolean isAuthenticated() {
+        return hasValidToken() && hasUser();
+    }
+
+    /**
+     * Returns the cached snapshot, reading and checking the preferences on first access only.
+     */
+    private Snapshot load() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = read();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reads the stored session; an inconsistent one is discarded.
+     */
+    private Snapshot read() {
+        String token = preferences.getString(PREF_TOKEN, null);
+        String userJson = preferences.getString(PREF_USER, null);
+        if (token == null && userJson == null) {
+            return Snapshot.EMPTY;
+        }
+
+        String storedDigest = preferences.getString(PREF_DIGEST, null);
+        User user = parseUser(userJson);
+        if (token == null || user == null || storedDigest == null
+                || !MessageDigest.isEqual(storedDigest.getBytes(StandardCharsets.UTF_8),
+                        digest(token, userJson).getBytes(StandardCharsets.UTF_8))) {
+            clear();
+            return Snapshot.EMPTY;
+        }
+        return new Snapshot(token, user);
+    }
+
+    private static User parseUser(String userJson) {
+        if (userJson == null || userJson.isEmpty()) return null;
+        try {
+            return JsonAdapters.gson().fromJson(userJson, User.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hex SHA-256 digest binding a token to its user.
+     */
+    private static String digest(String token, String userJson) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(String.valueOf(token).getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            sha256.update(String.valueOf(userJson).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : sha256.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Opens the credentials file with the master key and moves a session stored in
+     * the former preference files into it.
+     */
+    private static SharedPreferences openPreferences(Context context) {
+        MasterKey masterKey = null;
+        try {
+            masterKey = new MasterKey.Builder(context)
+                    .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                    .build();
+        } catch (Exception e) {
+            // Fall back to regular preferences below
+        }
+
+        SharedPreferences preferences = open(context, PREF_NAME, masterKey);
+        migrateLegacy(context, masterKey, preferences);
+        return preferences;
+    }
+
+    private static SharedPreferences open(Context context, String name, MasterKey masterKey) {
+        if (masterKey != null) {
+            try {
+                return EncryptedSharedPreferences.create(
+                        context,
+                        name,
+                        masterKey,
+                        EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                        EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+                );
+            } catch (Exception e) {
+                // Fall back to regular preferences below
+            }
+        }
+        return context.getSharedPreferences(name, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Copies the token and user of the former preference files, then deletes those files.
+     * Does nothing once they are gone.
+     */
+    private static void migrateLegacy(Context context, MasterKey masterKey, SharedPreferences target) {
+        boolean hasLegacyToken = legacyFileExists(context, LEGACY_TOKEN_PREF_NAME);
+        boolean hasLegacySession = legacyFileExists(context, LEGACY_SESSION_PREF_NAME);
+        if (!hasLegacyToken && !hasLegacySession) return;
+
+        try {
+            String token = hasLegacyToken
+                    ? open(context, LEGACY_TOKEN_PREF_NAME, masterKey).getString(PREF_TOKEN, null)
+                    : null;
+            String userJson = hasLegacySession
+                    ? open(context, LEGACY_SESSION_PREF_NAME, masterKey).getString(PREF_USER, null)
+                    : null;
+            if (token != null && userJson != null && !target.contains(PREF_TOKEN)) {
+                target.edit()
+                        .putString(PREF_TOKEN, token)
+                        .putString(PREF_USER, userJson)
+                        .putString(PREF_DIGEST, digest(token, userJson))
+                        .commit();
+            }
+        } catch (RuntimeException e) {
+            // An unreadable former session is dropped; the user signs in again
+        }
+        context.deleteSharedPreferences(LEGACY_TOKEN_PREF_NAME);
+        context.deleteSharedPreferences(LEGACY_SESSION_PREF_NAME);
+    }
+
+    private static boolean legacyFileExists(Context context, String name) {
+        return new File(new File(context.getDataDir(), "shared_prefs"), name + ".xml").exists();
+    }
+
+    /**
+     * Immutable snapshot of the session with the token's parsed expiry.
+     */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null, null);
+
+        final String token;
+        final long expiresAt;
+        final User user;
+
+        Snapshot(String token, User user) {
+            this.token = token;
+            this.expiresAt = JwtExpiryParser.parseExpiry(token);
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.bariatric_mobile.services.local;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientChanges;
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache of survey details and predictions, keyed by patient code.
+ * <p>
+ * Holds the most recently opened patients, up to a fixed number, and evicts the
+ * least recently used one beyond that. A value younger than the time to live is
+ * fresh and can be shown without asking the server. An older value is still
+ * returned, marked stale, so the screen can show it while it is refreshed.
+ * Entries of patients whose status or submission changed are dropped through
+ * {@link #invalidate(PatientChanges)}.
+ * <p>
+ * Hit, miss and eviction counts are kept for diagnostics; only fresh values count
+ * as hits. All methods are thread-safe.
+ *
+ * @example
+ * <pre>
+ * PatientDetailsCache.Cached&lt;SurveyData&gt; cached = cache.getDetails("ABC123");
+ * if (cached != null) show(cached.getValue());
+ * if (cached == null || !cached.isFresh()) fetchFromServer();
+ * </pre>
+ */
+public class PatientDetailsCache {
+
+    /** Default number of patients kept in memory */
+    public static final int DEFAULT_MAX_PATIENTS = 32;
+
+    /** Default time after which a cached value is refreshed from the server */
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;
+
+    /**
+     * A cached value together with its freshness.
+     *
+     * @param <T> Type of the cached value
+     */
+    public static final class Cached<T> {
+        private final T value;
+        private final boolean fresh;
+
+        Cached(T value, boolean fresh) {
+            this.value = value;
+            this.fresh = fresh;
+        }
+
+        /**
+         * @return The cached value, never null
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return True if the value is younger than the time to live
+         */
+        public boolean isFresh() {
+            return fresh;
+        }
+    }
+
+    /**
+     * Cached data of one patient; each part has its own load time.
+     */
+    private static final class Entry {
+        SurveyData details;
+        long detailsLoadedAt;
+        PredictionResponse prediction;
+        long predictionLoadedAt;
+    }
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache with the default size and time to live.
+     */
+    public PatientDetailsCache() {
+        this(DEFAULT_MAX_PATIENTS, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor for testing that allows a custom size, time to live and clock.
+     *
+     * @param maxPatients Number of patients kept before the least recently used is evicted
+     * @param ttlMillis   Age after which a value is stale
+     * @param clock       Source of the current time in milliseconds
+     */
+    @VisibleForTesting
+    PatientDetailsCache(int maxPatients, long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxPatients) return false;
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached survey details of a patient.
+     *
+     * @param patientCode The patient code
+     * @return The cached details, or null if none are cached
+     */
+    public synchronized Cached<SurveyData> getDetails(String patientCode) {
+        Entry entry = entries.get(patientCode);
+        if (entry == null || entry.details == null) {
+            missCount++;
+            return null;
+        }
+        return lookup(entry.details, entry.detailsLoadedAt);
+    }
+
+    /**
+     * Returns the cached prediction of a patient.
+     *
+     * @param patientCode The patient code
+     * @return The cached prediction, or null if none is cached
+     */
+    public synchronized Cached<PredictionResponse> getPrediction(String patientCode) {
+        Entry entry = entries.get(patientCode);
+        if (entry == null || entry.prediction == null) {
+            missCount++;
+            return null;
+        }
+        return lookup(entry.prediction, entry.predictionLoadedAt);
+    }
+
+    /**
+     * Stores freshly loaded survey details of a patient.
+     *
+     * @param patientCode The patient code
+     * @param details     The details received from the server
+     */
+    public synchronized void putDetails(String patientCode, SurveyData details) {
+        Entry entry = entryFor(patientCode);
+        entry.details = details;
+        entry.detailsLoadedAt = clock.getAsLong();
+    }
+
+    /**
+     * Stores a freshly loaded prediction of a patient.
+     *
+     * @param patientCode The patient code
+     * @param prediction  The prediction received from the server
+     */
+    public synchronized void putPrediction(String patientCode, PredictionResponse prediction) {
+        Entry entry = entryFor(patientCode);
+        entry.prediction = prediction;
+        entry.predictionLoadedAt = clock.getAsLong();
+    }
+
+    /**
+     * Fills in values restored from a slower cache, keeping their original load
+     * times. Parts already held in memory are not replaced.
+     *
+     * @param patientCode         The patient code
+     * @param details             Restored details, or null
+     * @param detailsLoadedAt     When the details were loaded from the server
+     * @param prediction          Restored prediction, or null
+     * @param predictionLoadedAt  When the prediction was loaded from the server
+     */
+    public synchronized void restore(String patientCode, SurveyData details, long detailsLoadedAt,
+                                     PredictionResponse prediction, long predictionLoadedAt) {
+        if (details == null && prediction == null) return;
+        Entry entry = entryFor(patientCode);
+        if (entry.details == null && details != null) {
+            entry.details = details;
+            entry.detailsLoadedAt = detailsLoadedAt;
+        }
+        if (entry.prediction == null && prediction != null) {
+            entry.prediction = prediction;
+            entry.predictionLoadedAt = predictionLoadedAt;
+        }
+    }
+
+    /**
+     * Checks whether anything is cached for a patient, without counting a lookup.
+     *
+     * @param patientCode The patient code
+     * @return True if details or a prediction are cached
+     */
+    public synchronized boolean contains(String patientCode) {
+        return entries.containsKey(patientCode);
+    }
+
+    /**
+     * Drops everything cached for a patient.
+     *
+     * @param patientCode The patient code
+     */
+    public synchronized void invalidate(String patientCode) {
+        entries.remove(patientCode);
+    }
+
+    /**
+     * Drops the cached data of every patient that was added, changed or removed
+     * by a patient list sync.
+     *
+     * @param changes Changes reported by the sync
+     */
+    public synchronized void invalidate(PatientChanges changes) {
+        for (Patient patient : changes.getUpserted()) {
+            entries.remove(patient.getCode());
+        }
+        for (String code : changes.getRemovedCodes()) {
+            entries.remove(code);
+        }
+    }
+
+    /**
+     * Drops all cached data, e.g. on logout.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return Number of lookups answered with a fresh value
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return Number of lookups that found nothing or only a stale value
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return Number of patients evicted to stay within the size limit
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private <T> Cached<T> lookup(T value, long loadedAt) {
+        boolean fresh = clock.getAsLong() - loadedAt < ttlMillis;
+        if (fresh) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return new Cached<>(value, fresh);
+    }
+
+    private Entry entryFor(String patientCode) {
+        Entry entry = entries.get(patientCode);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(patientCode, entry);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.bariatric_mobile.services.local;
+
+import android.content.Context;
+
+import androidx.annotation.VisibleForTesting;
+import androidx.security.crypto.EncryptedFile;
+import androidx.security.crypto.MasterKey;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.example.bariatric_mobile.services.network.JsonAdapters;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encrypted on-disk cache of survey details and predictions, keyed by patient code.
+ * <p>
+ * Each patient is stored in its own file, encrypted with {@link EncryptedFile}
+ * (AES-256 GCM streaming encryption, keys protected by the Android Keystore), so
+ * health data never reaches the disk in plain text. File names are hashes of the
+ * patient code. Inside the encryption, every file carries a format header, the
+ * payload length and a SHA-256 digest of the payload; a file that fails any check,
+ * or belongs to another patient, is deleted and reported as missing.
+ * <p>
+ * The total size of the cache is capped; beyond the cap the least recently used
+ * patients are deleted. Recency survives restarts through the file modification time.
+ * All methods perform disk I/O and must be called off the main thread.
+ */
+public class PatientDetailsDiskCache {
+
+    /** Default upper bound of the total size of the cache files */
+    public static final long DEFAULT_MAX_BYTES = 2 * 1024 * 1024;
+
+    private static final String DIRECTORY = "patient_details";
+    private static final int MAGIC = 0x50444331;
+    private static final int FORMAT_VERSION = 1;
+    private static final int DIGEST_LENGTH = 32;
+
+    private static volatile PatientDetailsDiskCache instance;
+
+    /**
+     * Opens the streams of one cache file.
+     */
+    @VisibleForTesting
+    interface FileCodec {
+        InputStream openRead(File file) throws IOException, GeneralSecurityException;
+
+        OutputStream openWrite(File file) throws IOException, GeneralSecurityException;
+    }
+
+    /**
+     * Details and prediction of one patient, each with the time it was loaded from the server.
+     */
+    public static final class Entry {
+        private final SurveyData details;
+        private final long detailsSavedAt;
+        private final PredictionResponse prediction;
+        private final long predictionSavedAt;
+
+        Entry(SurveyData details, long detailsSavedAt, PredictionResponse prediction, long predictionSavedAt) {
+            this.details = details;
+            this.detailsSavedAt = detailsSavedAt;
+            this.prediction = prediction;
+            this.predictionSavedAt = predictionSavedAt;
+        }
+
+        /** @return The stored survey details, or null if none were stored */
+        public SurveyData getDetails() { return details; }
+
+        /** @return When the details were loaded from the server, in epoch milliseconds */
+        public long getDetailsSavedAt() { return detailsSavedAt; }
+
+        /** @return The stored prediction, or null if none was stored */
+        public PredictionResponse getPrediction() { return prediction; }
+
+        /** @return When the prediction was loaded from the server, in epoch milliseconds */
+        public long getPredictionSavedAt() { return predictionSavedAt; }
+    }
+
+    private final File directory;
+    private final long maxBytes;
+    private final FileCodec codec;
+    private final Gson gson = JsonAdapters.gson();
+
+    /** File name to size, in access order; loaded from the directory on first use */
+    private LinkedHashMap<String, Long> index;
+    private long totalBytes;
+
+    /**
+     * Returns the process-wide cache, creating it on first use.
+     *
+     * @param context Context used to reach the cache directory and the key store
+     * @return Shared PatientDetailsDiskCache instance
+     */
+    public static PatientDetailsDiskCache getInstance(Context context) {
+        PatientDetailsDiskCache result = instance;
+        if (result == null) {
+            synchronized (PatientDetailsDiskCache.class) {
+                result = instance;
+                if (result == null) {
+                    Context appContext = context.getApplicationContext();
+                    result = new PatientDetailsDiskCache(new File(appContext.getCacheDir(), DIRECTORY),
+                            DEFAULT_MAX_BYTES, new EncryptedFileCodec(appContext));
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Constructor for testing that allows a custom directory, size cap and file codec.
+     *
+     * @param directory Directory holding the cache files
+     * @param maxBytes  Upper bound of the total size of the cache files
+     * @param codec     Opens the file streams, encrypting in production
+     */
+    @VisibleForTesting
+    PatientDetailsDiskCache(File directory, long maxBytes, FileCodec codec) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.codec = codec;
+    }
+
+    /**
+     * Reads the stored data of a patient and marks it as recently used.
+     *
+     * @param patientCode The patient code
+     * @return The stored entry, or null if nothing valid is stored
+     */
+    public synchronized Entry read(String patientCode) {
+        String name = fileName(patientCode);
+        if (index().get(name) == null) return null;
+
+        File file = new File(directory, name);
+        Entry entry = decode(patientCode, file);
+        if (entry == null) {
+            delete(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return entry;
+    }
+
+    /**
+     * Stores freshly loaded survey details, keeping a stored prediction.
+     *
+     * @param patientCode The patient code
+     * @param details     The details received from the server
+     * @param savedAt     When they were received, in epoch milliseconds
+     */
+    public synchronized void writeDetails(String patientCode, SurveyData details, long savedAt) {
+        Entry current = read(patientCode);
+        write(patientCode, current != null
+                ? new Entry(details, savedAt, current.prediction, current.predictionSavedAt)
+                : new Entry(details, savedAt, null, 0));
+    }
+
+    /**
+     * Stores a freshly loaded prediction, keeping stored survey details.
+     *
+     * @param patientCode The patient code
+     * @param prediction  The prediction received from the server
+     * @param savedAt     When it was received, in epoch milliseconds
+     */
+    public synchronized void writePrediction(String patientCode, PredictionResponse prediction, long savedAt) {
+        Entry current = read(patientCode);
+        write(patientCode, current != null
+                ? new Entry(current.details, current.detailsSavedAt, prediction, savedAt)
+                : new Entry(null, 0, prediction, savedAt));
+    }
+
+    /**
+     * Deletes the stored data of a patient.
+     *
+     * @param patientCode The patient code
+     */
+    public synchronized void remove(String patientCode) {
+        String name = fileName(patientCode);
+        if (index().containsKey(name)) {
+            delete(name);
+        }
+    }
+
+    /**
+     * Deletes all stored data, e.g. on logout.
+     */
+    public synchronized void clear() {
+        for (String name : new ArrayList<>(index().keySet())) {
+            delete(name);
+        }
+    }
+
+    /**
+     * @return The total size of the cache files in bytes
+     */
+    public synchronized long getSizeBytes() {
+        index();
+        return totalBytes;
+    }
+
+    private void write(String patientCode, Entry entry) {
+        String name = fileName(patientCode);
+        File file = new File(directory, name);
+        if (!directory.isDirectory() && !directory.mkdirs()) return;
+        // Encrypted files cannot be overwritten, and the file name is bound to the ciphertext
+        delete(name);
+
+        try {
+            byte[] payload = encode(patientCode, entry);
+            try (DataOutputStream out = new DataOutputStream(codec.openWrite(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.write(sha256(payload));
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            file.delete();
+            return;
+        }
+
+        index().put(name, file.length());
+        totalBytes += file.length();
+        trim(name);
+    }
+
+    /**
+     * Deletes least recently used files until the cache fits its size cap.
+     * The file just written is kept even if it alone exceeds the cap.
+     */
+    private void trim(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> candidate = eldest.next();
+            if (candidate.getKey().equals(keep)) continue;
+            totalBytes -= candidate.getValue();
+            new File(directory, candidate.getKey()).delete();
+            eldest.remove();
+        }
+    }
+
+    private void delete(String name) {
+        Long size = index().remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        new File(directory, name).delete();
+    }
+
+    private Entry decode(String patientCode, File file) {
+        byte[] payload;
+        try (DataInputStream in = new DataInputStream(codec.openRead(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return null;
+            int length = in.readInt();
+            if (length < 0 || length > maxBytes) return null;
+            payload = new byte[length];
+            in.readFully(payload);
+            byte[] digest = new byte[DIGEST_LENGTH];
+            in.readFully(digest);
+            if (!MessageDigest.isEqual(digest, sha256(payload)) || in.read() != -1) return null;
+        } catch (IOException | GeneralSecurityException e) {
+            return null;
+        }
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                new ByteArrayInputStream(payload), StandardCharsets.UTF_8))) {
+            return decodePayload(patientCode, reader);
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private Entry decodePayload(String patientCode, JsonReader reader) throws IOException {
+        TypeAdapter<SurveyData> detailsAdapter = gson.getAdapter(SurveyData.class);
+        TypeAdapter<PredictionResponse> predictionAdapter = gson.getAdapter(PredictionResponse.class);
+
+        String storedCode = null;
+        SurveyData details = null;
+        long detailsSavedAt = 0;
+        PredictionResponse prediction = null;
+        long predictionSavedAt = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "patientCode":
+                    storedCode = reader.nextString();
+                    break;
+                case "details":
+                    details = detailsAdapter.read(reader);
+                    break;
+                case "detailsSavedAt":
+                    detailsSavedAt = reader.nextLong();
+                    break;
+                case "prediction":
+                    prediction = predictionAdapter.read(reader);
+                    break;
+                case "predictionSavedAt":
+                    predictionSavedAt = reader.nextLong();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (!patientCode.equals(storedCode)) return null;
+        return new Entry(details, detailsSavedAt, prediction, predictionSavedAt);
+    }
+
+    private byte[] encode(String patientCode, Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
+             JsonWriter json = new JsonWriter(writer)) {
+            json.beginObject();
+            json.name("patientCode").value(patientCode);
+            json.name("details");
+            gson.getAdapter(SurveyData.class).write(json, entry.details);
+            json.name("detailsSavedAt").value(entry.detailsSavedAt);
+            json.name("prediction");
+            gson.getAdapter(PredictionResponse.class).write(json, entry.prediction);
+            json.name("predictionSavedAt").value(entry.predictionSavedAt);
+            json.endObject();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the size index, building it from the cache directory on first use
+     * with the least recently used files first.
+     */
+    private LinkedHashMap<String, Long> index() {
+        if (index != null) return index;
+
+        index = new LinkedHashMap<>(16, 0.75f, true);
+        totalBytes = 0;
+        File[] files = directory.listFiles();
+        if (files == null) return index;
+
+        long[] modified = new long[files.length];
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            modified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(modified[a], modified[b]));
+        for (int i : order) {
+            long size = files[i].length();
+            index.put(files[i].getName(), size);
+            totalBytes += size;
+        }
+        return index;
+    }
+
+    /**
+     * Derives a file name from the patient code, so patient codes do not appear on disk.
+     */
+    private static String fileName(String patientCode) {
+        byte[] hash = sha256(patientCode.getBytes(StandardCharsets.UTF_8));
+        StringBuilder name = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return name.toString();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Encrypts cache files with {@link EncryptedFile}; the master key is created on first use.
+     */
+    private static final class EncryptedFileCodec implements FileCodec {
+        private final Context context;
+        private MasterKey masterKey;
+
+        EncryptedFileCodec(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public InputStream openRead(File file) throws IOException, GeneralSecurityException {
+            return encrypted(file).openFileInput();
+        }
+
+        @Override
+        public OutputStream openWrite(File file) throws IOException, GeneralSecurityException {
+            return encrypted(file).openFileOutput();
+        }
+
+        private EncryptedFile encrypted(File file) throws IOException, GeneralSecurityException {
+            if (masterKey == null) {
+                masterKey = new MasterKey.Builder(context)
+                        .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                        .build();
+            }
+            return new EncryptedFile.Builder(context, file, masterKey,
+                    EncryptedFile.FileEncryptionScheme.AES256_GCM_HKDF_4KB).build();
+        }
+    }
+}
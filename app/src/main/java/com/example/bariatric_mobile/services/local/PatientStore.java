@@ -0,0 +1,290 @@
+package com.example.bariatric_mobile.services.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientChanges;
+import com.example.bariatric_mobile.utils.SyncWatermark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-device SQLite store for the dashboard patient list.
+ * <p>
+ * Keeps the last known list of surveys so the dashboard can render immediately,
+ * before the list is revalidated against the server. Also records the sync
+ * watermark, so later refreshes can download only rows changed since then.
+ * All methods perform disk I/O and must be called off the main thread.
+ */
+public class PatientStore extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "patients.db";
+    private static final int DATABASE_VERSION = 2;
+
+    private static final String TABLE_PATIENTS = "patients";
+    private static final String COLUMN_CODE = "patient_number";
+    private static final String COLUMN_SUBMISSION_DATE = "submission_date";
+    private static final String COLUMN_STATUS = "status";
+    private static final String COLUMN_POSITION = "position";
+
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String COLUMN_KEY = "key";
+    private static final String COLUMN_VALUE = "value";
+    private static final String KEY_WATERMARK = "watermark";
+
+    private static volatile PatientStore instance;
+
+    /**
+     * Returns the process-wide PatientStore instance, creating it on first use.
+     *
+     * @param context Context used to reach the application context
+     * @return Shared PatientStore instance
+     */
+    public static PatientStore getInstance(Context context) {
+        PatientStore result = instance;
+        if (result == null) {
+            synchronized (PatientStore.class) {
+                result = instance;
+                if (result == null) {
+                    result = new PatientStore(context.getApplicationContext());
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new PatientStore. Use {@link #getInstance(Context)} instead.
+     *
+     * @param context Application context for opening the database
+     */
+    private PatientStore(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_PATIENTS + " ("
+                + COLUMN_CODE + " TEXT PRIMARY KEY, "
+                + COLUMN_SUBMISSION_DATE + " TEXT, "
+                + COLUMN_STATUS + " TEXT, "
+                + COLUMN_POSITION + " INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + COLUMN_KEY + " TEXT PRIMARY KEY, "
+                + COLUMN_VALUE + " TEXT)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_PATIENTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    /**
+     * Returns the newest modification date among the stored rows.
+     *
+     * @return The sync watermark, or null if the list has never been synced
+     */
+    public String getWatermark() {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SYNC_STATE,
+                new String[]{COLUMN_VALUE}, COLUMN_KEY + " = ?", new String[]{KEY_WATERMARK},
+                null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    /**
+     * Reads all stored patients in the order they were last received.
+     *
+     * @return Stored patients, empty if nothing has been synced yet
+     */
+    public List<Patient> getAll() {
+        List<Patient> result = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE_PATIENTS,
+                new String[]{COLUMN_CODE, COLUMN_SUBMISSION_DATE, COLUMN_STATUS},
+                null, null, null, null, COLUMN_POSITION)) {
+            while (cursor.moveToNext()) {
+                result.add(new Patient(cursor.getString(0), cursor.getString(1), cursor.getString(2)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the stored list with a fresh one from the server.
+     * Only rows that changed are written; positions are rewritten only when
+     * the order of the list changed.
+     *
+     * @param updated The full list received from the server
+     * @return The rows that were added, changed or removed
+     */
+    public PatientChanges replaceAll(List<Patient> updated) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            List<Patient> current = getAll();
+            PatientChanges changes = PatientChanges.between(current, updated);
+
+            for (String code : changes.getRemovedCodes()) {
+                db.delete(TABLE_PATIENTS, COLUMN_CODE + " = ?", new String[]{code});
+            }
+
+            Map<String, Integer> positions = new HashMap<>();
+            for (Patient patient : updated) {
+                if (patient.getCode() != null && !positions.containsKey(patient.getCode())) {
+                    positions.put(patient.getCode(), positions.size());
+                }
+            }
+
+            for (Patient patient : changes.getUpserted()) {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_CODE, patient.getCode());
+                values.put(COLUMN_SUBMISSION_DATE, patient.getSubmissionDate());
+                values.put(COLUMN_STATUS, patient.getStatus());
+                values.put(COLUMN_POSITION, positions.get(patient.getCode()));
+                db.insertWithOnConflict(TABLE_PATIENTS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+
+            if (!sameOrder(current, updated)) {
+                ContentValues positionValues = new ContentValues();
+                for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+                    positionValues.put(COLUMN_POSITION, entry.getValue());
+                    db.update(TABLE_PATIENTS, positionValues, COLUMN_CODE + " = ?", new String[]{entry.getKey()});
+                }
+            }
+
+            setWatermark(db, SyncWatermark.advance(null, updated));
+            db.setTransactionSuccessful();
+            return changes;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Merges rows from an incremental sync into the stored list.
+     * Changed rows are updated in place and new rows are placed at the top.
+     *
+     * @param delta Rows submitted or changed since the last watermark
+     * @return The rows that were added or changed
+     */
+    public PatientChanges mergeDelta(List<Patient> delta) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            PatientChanges changes = PatientChanges.merging(getAll(), delta);
+
+            int nextTop = minPosition(db) - changes.getUpserted().size();
+            for (Patient patient : changes.getUpserted()) {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_SUBMISSION_DATE, patient.getSubmissionDate());
+                values.put(COLUMN_STATUS, patient.getStatus());
+                int updatedRows = db.update(TABLE_PATIENTS, values, COLUMN_CODE + " = ?",
+                        new String[]{patient.getCode()});
+                if (updatedRows == 0) {
+                    values.put(COLUMN_CODE, patient.getCode());
+                    values.put(COLUMN_POSITION, nextTop++);
+                    db.insert(TABLE_PATIENTS, null, values);
+                }
+            }
+
+            setWatermark(db, SyncWatermark.advance(getWatermark(), delta));
+            db.setTransactionSuccessful();
+            return changes;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Appends one chunk of a list that is being downloaded into an empty store.
+     * Rows keep the order in which they are appended. The watermark is not
+     * written until {@link #finishAppend(String)}, so an interrupted download is
+     * downloaded again in full on the next sync.
+     *
+     * @param chunk         Next rows of the list
+     * @param firstPosition Position of the first row of the chunk in the whole list
+     */
+    public void append(List<Patient> chunk, int firstPosition) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            int position = firstPosition;
+            for (Patient patient : chunk) {
+                if (patient.getCode() == null) continue;
+                values.put(COLUMN_CODE, patient.getCode());
+                values.put(COLUMN_SUBMISSION_DATE, patient.getSubmissionDate());
+                values.put(COLUMN_STATUS, patient.getStatus());
+                values.put(COLUMN_POSITION, position++);
+                db.insertWithOnConflict(TABLE_PATIENTS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Marks a list written through {@link #append(List, int)} as completely synced.
+     *
+     * @param watermark Newest modification date among the appended rows
+     */
+    public void finishAppend(String watermark) {
+        setWatermark(getWritableDatabase(), watermark);
+    }
+
+    private static int minPosition(SQLiteDatabase db) {
+        try (Cursor cursor = db.rawQuery("SELECT MIN(" + COLUMN_POSITION + ") FROM " + TABLE_PATIENTS, null)) {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getInt(0) : 0;
+        }
+    }
+
+    private static void setWatermark(SQLiteDatabase db, String watermark) {
+        if (watermark == null) return;
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_KEY, KEY_WATERMARK);
+        values.put(COLUMN_VALUE, watermark);
+        db.insertWithOnConflict(TABLE_SYNC_STATE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Deletes all stored patients and the sync watermark, e.g. when the user logs
+     * out, so the next user of the device never sees them and the next sync
+     * downloads their full list instead of a delta.
+     */
+    public void clear() {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_PATIENTS, null, null);
+            db.delete(TABLE_SYNC_STATE, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Checks whether both lists contain the same patient codes in the same order.
+     */
+    private static boolean sameOrder(List<Patient> current, List<Patient> updated) {
+        int index = 0;
+        for (Patient patient : updated) {
+            if (patient.getCode() == null) continue;
+            if (index >= current.size() || !patient.getCode().equals(current.get(index).getCode())) {
+                return false;
+            }
+            index++;
+        }
+        return index == current.size();
+    }
+}
@@ -6,16 +6,24 @@ import android.content.Intent;
 import androidx.annotation.NonNull;
 
 import com.example.bariatric_mobile.activities.LoginActivity;
-import com.example.bariatric_mobile.repositories.AuthRepository;
-import com.example.bariatric_mobile.services.local.TokenManager;
+import com.example.bariatric_mobile.repositories.PatientRepository;
+import com.example.bariatric_mobile.services.local.CredentialStore;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -26,18 +34,25 @@ import retrofit2.converter.gson.GsonConverterFactory;
  * timeouts, and automatic session management. It handles token injection, session
  * expiration, and provides factory methods for creating API service interfaces.</p>
  *
+ * <p>The network graph (one {@link OkHttpClient}, one {@link Retrofit} and the
+ * service proxies created from it) is built lazily once per process and is never
+ * rebuilt, so every screen shares the same connection pool and dispatcher threads.
+ * Credentials reach the client through a {@link TokenProvider} that is read on each
+ * request.</p>
+ *
  * <p>The client automatically:</p>
  * <ul>
  *   <li>Adds authentication headers to all requests</li>
- *   <li>Handles 401 Unauthorized responses by logging out the user</li>
+ *   <li>Handles 401 Unauthorized responses by logging out the user once,
+ *       even when several requests fail together</li>
  *   <li>Redirects to login screen on session expiration</li>
  *   <li>Configures appropriate timeouts for network operations</li>
  * </ul>
  *
  * <p><strong>Usage:</strong></p>
  * <pre>
- * // Initialize once in Application class
- * ApiClient.initialize(context, tokenManager);
+ * // Register the application context and token source (safe to call repeatedly)
+ * ApiClient.initialize(context, credentialStore);
  *
  * // Get service instances
  * PatientApiService patientService = ApiClient.getPatientService();
@@ -50,48 +65,116 @@ public class ApiClient {
     /** Base URL for the bariatric surgery API server */
     private static final String BASE_URL = "http://192.168.0.229:8000/";
 
+    /** Guards lazy construction of the shared network graph */
+    private static final Object LOCK = new Object();
+
     /** Singleton Retrofit instance */
-    private static Retrofit retrofit = null;
+    private static volatile Retrofit retrofit = null;
+
+    /** Memoized service proxies created from {@link #retrofit} */
+    private static volatile AuthApiService authService;
+    private static volatile PatientApiService patientService;
+    private static volatile PredictionApiService predictionService;
+
+    /** Source of the bearer token for authentication */
+    private static volatile TokenProvider tokenProvider;
 
-    /** Token manager for authentication */
-    private static TokenManager tokenManager;
+    /** Token source still being opened in the background, awaited by requests sent before it is ready */
+    private static volatile CompletableFuture<? extends TokenProvider> pendingTokenProvider;
+
+    /** Longest time a request waits for a token source that is still being opened */
+    private static final long TOKEN_PROVIDER_WAIT_SECONDS = 10;
 
     /** Application context for session management */
-    private static Context appContext;
+    private static volatile Context appContext;
+
+    /** Runs logout work triggered by session expiration off the network threads */
+    private static final ExecutorService sessionExecutor = Executors.newSingleThreadExecutor();
+
+    /** Coalesces concurrent 401 responses, created together with the HTTP client */
+    private static volatile SessionExpiryHandler sessionExpiryHandler;
 
     /**
-     * Initializes the API client with required dependencies.
+     * Registers the application context and token source used by the client.
      *
-     * <p>This method must be called once before using any API services,
-     * typically in the Application class onCreate() method.</p>
+     * <p>Only the references are swapped; the underlying HTTP client, its
+     * connection pool and the service proxies are kept, so calling this from
+     * every repository is cheap.</p>
      *
      * @param context Application context for session management
-     * @param tokenMgr Token manager instance for authentication
+     * @param provider Source of the authentication token
      *
-     * @throws NullPointerException if context or tokenMgr is null
+     * @throws NullPointerException if context is null
      */
-    public static void initialize(Context context, TokenManager tokenMgr) {
+    public static void initialize(Context context, TokenProvider provider) {
         appContext = context.getApplicationContext();
-        tokenManager = tokenMgr;
-        retrofit = null; // Force recreation with new dependencies
+        tokenProvider = provider;
+    }
+
+    /**
+     * Registers the application context and a token source that is still being
+     * opened, e.g. at process start.
+     *
+     * <p>The source is registered as soon as it is ready. Requests sent before
+     * that wait for it on the network threads, so they never go out without a
+     * token that is already stored.</p>
+     *
+     * @param context Application context for session management
+     * @param provider Future completed with the source of the authentication token
+     */
+    public static void initialize(Context context, CompletableFuture<? extends TokenProvider> provider) {
+        appContext = context.getApplicationContext();
+        pendingTokenProvider = provider;
+        provider.thenAccept(ready -> {
+            if (tokenProvider == null) {
+                tokenProvider = ready;
+            }
+        });
+    }
+
+    /**
+     * Returns the registered token source, waiting for one that is still being opened.
+     * Only called on network threads.
+     *
+     * @return The token source, or null if none is registered
+     */
+    private static TokenProvider awaitTokenProvider() {
+        TokenProvider provider = tokenProvider;
+        if (provider != null) return provider;
+
+        CompletableFuture<? extends TokenProvider> pending = pendingTokenProvider;
+        if (pending == null) return null;
+        try {
+            return pending.get(TOKEN_PROVIDER_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
     }
 
     /**
      * Gets the configured Retrofit client instance.
      *
-     * <p>Creates a new instance if one doesn't exist. The client is configured
-     * with authentication interceptor, timeouts, and JSON conversion.</p>
+     * <p>Creates the instance on first use and returns the same one afterwards.
+     * The client is configured with authentication interceptor, timeouts,
+     * and JSON conversion.</p>
      *
      * @return Configured Retrofit instance
-     *
-     * @throws IllegalStateException if {@link #initialize(Context, TokenManager)}
-     *                               hasn't been called
      */
     public static Retrofit getClient() {
-        if (retrofit == null) {
-            retrofit = createRetrofitClient();
+        Retrofit client = retrofit;
+        if (client == null) {
+            synchronized (LOCK) {
+                client = retrofit;
+                if (client == null) {
+                    client = createRetrofitClient();
+                    retrofit = client;
+                }
+            }
         }
-        return retrofit;
+        return client;
     }
 
     /**
@@ -101,13 +184,18 @@ public class ApiClient {
      * <ul>
      *   <li>Authentication interceptor for token injection</li>
      *   <li>10-second timeouts for connect, read, and write operations</li>
-     *   <li>Gson converter for JSON serialization/deserialization</li>
+     *   <li>Gson converter with the shared {@link JsonAdapters} configuration</li>
      * </ul>
      *
      * @return Configured Retrofit instance
      */
     private static Retrofit createRetrofitClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        sessionExpiryHandler = new SessionExpiryHandler(
+                dispatcher::cancelAll, sessionExecutor, ApiClient::expireSession);
+
         OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .addInterceptor(new AuthInterceptor())
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(10, TimeUnit.SECONDS)
@@ -118,10 +206,38 @@ public class ApiClient {
         return new Retrofit.Builder()
                 .baseUrl(BASE_URL)
                 .client(httpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create(JsonAdapters.gson()))
                 .build();
     }
 
+    /**
+     * Re-arms session expiration handling after a successful login.
+     */
+    public static void resetSessionExpiry() {
+        SessionExpiryHandler handler = sessionExpiryHandler;
+        if (handler != null) {
+            handler.reset();
+        }
+    }
+
+    /**
+     * Clears stored credentials and all local patient data and redirects to the login screen,
+     * like a logout.
+     * Runs once per expired session on {@link #sessionExecutor}.
+     */
+    private static void expireSession() {
+        Context context = appContext;
+        if (context == null) return;
+
+        CredentialStore.getInstance(context).clear();
+        PatientRepository.clearLocalData(context);
+
+        Intent intent = new Intent(context, LoginActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        intent.putExtra("session_expired", true);
+        context.startActivity(intent);
+    }
+
     /**
      * HTTP interceptor that handles authentication and session management.
      *
@@ -134,9 +250,15 @@ public class ApiClient {
      * </ul>
      *
      * <p>Login requests are exempted from automatic logout on 401 responses
-     * to allow proper error handling for invalid credentials.</p>
+     * to allow proper error handling for invalid credentials. Other 401 responses
+     * are passed to the {@link SessionExpiryHandler}, so only the first one logs out.</p>
+     *
+     * <p>The token is read from the in-memory {@link TokenProvider} only, so no
+     * preference decryption happens on the dispatcher threads. A token that is
+     * already known to be expired is not sent: the request is answered locally
+     * with a 401 response and goes through the same session expiration path.</p>
      */
-    private static class AuthInterceptor implements Interceptor {
+    static class AuthInterceptor implements Interceptor {
 
         /**
          * Intercepts HTTP requests to add authentication and handle responses.
@@ -151,8 +273,9 @@ public class ApiClient {
             Request original = chain.request();
             Request.Builder requestBuilder = original.newBuilder();
 
-            if (tokenManager != null && tokenManager.hasToken()) {
-                String token = tokenManager.getToken();
+            TokenProvider provider = awaitTokenProvider();
+            String token = provider != null ? provider.getToken() : null;
+            if (token != null && !token.trim().isEmpty()) {
                 requestBuilder.header("Authorization", "Bearer " + token);
             }
 
@@ -161,63 +284,112 @@ public class ApiClient {
                     .header("Accept", "application/json");
 
             Request authenticatedRequest = requestBuilder.build();
-            Response response = chain.proceed(authenticatedRequest);
+            String url = original.url().toString();
+            boolean isLoginRequest = url.contains("/api/auth/login");
 
-            if (response.code() == 401) {
-                String url = original.url().toString();
+            Response response;
+            if (!isLoginRequest && token != null && provider.isTokenExpired()) {
+                response = expiredTokenResponse(authenticatedRequest);
+            } else {
+                response = chain.proceed(authenticatedRequest);
+            }
 
-                if (url.contains("/api/auth/login")) {
+            if (response.code() == 401) {
+                if (isLoginRequest) {
                     return response;
                 }
 
-                if (tokenManager != null && appContext != null) {
-                    AuthRepository authRepository = new AuthRepository(appContext);
-                    authRepository.logout();
-
-                    Intent intent = new Intent(appContext, LoginActivity.class);
-                    intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                    intent.putExtra("session_expired", true);
-                    appContext.startActivity(intent);
+                SessionExpiryHandler handler = sessionExpiryHandler;
+                if (provider != null && handler != null) {
+                    handler.onUnauthorized();
                 }
             }
 
             return response;
         }
+
+        /**
+         * Builds a local 401 response used instead of sending a request with an expired token.
+         *
+         * @param request The request that would have been sent
+         * @return Unauthorized response with an empty JSON body
+         */
+        private Response expiredTokenResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(401)
+                    .message("Token expired")
+                    .body(ResponseBody.create("", null))
+                    .build();
+        }
     }
 
     /**
-     * Creates an instance of the Authentication API service.
+     * Returns the Authentication API service.
      *
      * <p>Provides endpoints for user authentication operations such as
-     * login, logout, and token refresh.</p>
+     * login, logout, and token refresh. The proxy is created once and reused.</p>
      *
      * @return AuthApiService instance for authentication operations
      */
     public static AuthApiService getAuthService() {
-        return getClient().create(AuthApiService.class);
+        AuthApiService service = authService;
+        if (service == null) {
+            synchronized (LOCK) {
+                service = authService;
+                if (service == null) {
+                    service = getClient().create(AuthApiService.class);
+                    authService = service;
+                }
+            }
+        }
+        return service;
     }
 
     /**
-     * Creates an instance of the Patient API service.
+     * Returns the Patient API service.
      *
      * <p>Provides endpoints for patient data operations such as
-     * retrieving patient lists, patient details, and updating patient status.</p>
+     * retrieving patient lists, patient details, and updating patient status.
+     * The proxy is created once and reused.</p>
      *
      * @return PatientApiService instance for patient operations
      */
     public static PatientApiService getPatientService() {
-        return getClient().create(PatientApiService.class);
+        PatientApiService service = patientService;
+        if (service == null) {
+            synchronized (LOCK) {
+                service = patientService;
+                if (service == null) {
+                    service = getClient().create(PatientApiService.class);
+                    patientService = service;
+                }
+            }
+        }
+        return service;
     }
 
     /**
-     * Creates an instance of the Prediction API service.
+     * Returns the Prediction API service.
      *
      * <p>Provides endpoints for weight loss prediction operations,
-     * retrieving AI-generated predictions for patient outcomes.</p>
+     * retrieving AI-generated predictions for patient outcomes.
+     * The proxy is created once and reused.</p>
      *
      * @return PredictionApiService instance for prediction operations
      */
     public static PredictionApiService getPredictionService() {
-        return getClient().create(PredictionApiService.class);
+        PredictionApiService service = predictionService;
+        if (service == null) {
+            synchronized (LOCK) {
+                service = predictionService;
+                if (service == null) {
+                    service = getClient().create(PredictionApiService.class);
+                    predictionService = service;
+                }
+            }
+        }
+        return service;
     }
-}
\ No newline at end of file
+}
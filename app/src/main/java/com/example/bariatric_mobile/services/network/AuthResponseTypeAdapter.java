@@ -0,0 +1,47 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.auth.AuthResponse;
+import com.example.bariatric_mobile.models.auth.User;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes the login response {@link AuthResponse} without reflection.
+ */
+final class AuthResponseTypeAdapter extends TypeAdapter<AuthResponse> {
+
+    private final TypeAdapter<User> userAdapter = new UserTypeAdapter().nullSafe();
+
+    @Override
+    public void write(JsonWriter out, AuthResponse response) throws IOException {
+        out.beginObject();
+        out.name("user");
+        userAdapter.write(out, response.getUser());
+        out.name("token").value(response.getToken());
+        out.endObject();
+    }
+
+    @Override
+    public AuthResponse read(JsonReader in) throws IOException {
+        User user = null;
+        String token = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "user":
+                    user = userAdapter.read(in);
+                    break;
+                case "token":
+                    token = JsonAdapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new AuthResponse(user, token);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.auth.AuthResponse;
+import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared JSON configuration of the application.
+ * <p>
+ * Holds the single {@link Gson} instance used by Retrofit and local storage. The
+ * models exchanged with the backend are read and written by hand-written type
+ * adapters instead of reflection, which avoids building reflective bindings on
+ * first use and setting fields one by one through {@code java.lang.reflect}.
+ * The JSON format is the same as with a default {@code new Gson()}.
+ * <p>
+ * Disease, treatment and contraindication codes come from a small fixed set, so
+ * they are interned while parsing and every survey shares the same strings.
+ *
+ * @example
+ * <pre>
+ * Gson gson = JsonAdapters.gson();
+ * String json = gson.toJson(user);
+ * User restored = gson.fromJson(json, User.class);
+ * </pre>
+ */
+public final class JsonAdapters {
+
+    /** Upper bound of the code pool, so free text sent as a code cannot grow it without limit */
+    private static final int MAX_INTERNED_CODES = 1024;
+
+    private static final ConcurrentHashMap<String, String> CODES = new ConcurrentHashMap<>();
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Patient.class, new PatientTypeAdapter().nullSafe())
+            .registerTypeAdapter(SurveyData.class, new SurveyDataTypeAdapter().nullSafe())
+            .registerTypeAdapter(PredictionResponse.class, new PredictionResponseTypeAdapter().nullSafe())
+            .registerTypeAdapter(User.class, new UserTypeAdapter().nullSafe())
+            .registerTypeAdapter(AuthResponse.class, new AuthResponseTypeAdapter().nullSafe())
+            .create();
+
+    private JsonAdapters() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * @return The shared Gson instance with the application type adapters registered
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * Returns the shared instance of a code string.
+     *
+     * @param code The code as parsed, may be null
+     * @return An equal string shared by all parsed surveys, or {@code code} itself
+     * once the pool is full
+     */
+    static String intern(String code) {
+        if (code == null) return null;
+        String shared = CODES.get(code);
+        if (shared != null) return shared;
+        if (CODES.size() >= MAX_INTERNED_CODES) return code;
+        shared = CODES.putIfAbsent(code, code);
+        return shared != null ? shared : code;
+    }
+
+    /**
+     * Reads a string value the way Gson does: numbers and booleans are converted to text.
+     */
+    static String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Reads an int value; a JSON null leaves the current value unchanged.
+     */
+    static int readInt(JsonReader reader, int current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Reads a double value; a JSON null leaves the current value unchanged.
+     */
+    static double readDouble(JsonReader reader, double current) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+        try {
+            return reader.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Reads a boolean value, also accepting "true"/"false" strings; a JSON null
+     * leaves the current value unchanged.
+     */
+    static boolean readBoolean(JsonReader reader, boolean current) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return current;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        return reader.nextBoolean();
+    }
+
+    /**
+     * Reads an array of codes, interning every element.
+     *
+     * @return The codes, or null for a JSON null
+     */
+    static List<String> readCodes(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        List<String> codes = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            codes.add(intern(readString(reader)));
+        }
+        reader.endArray();
+        return codes;
+    }
+
+    /**
+     * Writes an array of strings, or a JSON null for a null list.
+     */
+    static void writeStrings(JsonWriter writer, List<String> values) throws IOException {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (String value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+}
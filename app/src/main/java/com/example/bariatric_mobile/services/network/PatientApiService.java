@@ -5,10 +5,13 @@ import com.example.bariatric_mobile.models.patient.SurveyData;
 
 import java.util.List;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.PATCH;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * Retrofit API service interface for patient-related operations.
@@ -41,6 +44,63 @@ public interface PatientApiService {
     @GET("api/surveys")
     Call<List<Patient>> getPatients();
 
+    /**
+     * Retrieves the list of all patients as an unparsed, streamed response body.
+     *
+     * <p>Same endpoint as {@link #getPatients()}, but the body is not buffered, so it
+     * can be read incrementally with {@link PatientStreamReader} while it is still
+     * being downloaded. The caller must close the body.</p>
+     *
+     * <p><strong>HTTP Method:</strong> GET<br>
+     * <strong>Endpoint:</strong> {@code /api/surveys}<br>
+     * <strong>Authentication:</strong> Required (Bearer token)</p>
+     *
+     * @return Retrofit Call object containing the raw JSON array of patients
+     *
+     */
+    @Streaming
+    @GET("api/surveys")
+    Call<ResponseBody> streamPatients();
+
+    /**
+     * Retrieves only the patients whose survey was submitted or changed after
+     * the given watermark.
+     *
+     * <p>Used for incremental synchronization of the locally stored list, so the
+     * payload depends on the number of recent changes rather than on the size of
+     * the whole survey history.</p>
+     *
+     * <p><strong>HTTP Method:</strong> GET<br>
+     * <strong>Endpoint:</strong> {@code /api/surveys?since={watermark}}<br>
+     * <strong>Authentication:</strong> Required (Bearer token)</p>
+     *
+     * @param since ISO date-time of the newest change already held by the client
+     * @return Retrofit Call object containing the new or changed Patient objects
+     */
+    @GET("api/surveys")
+    Call<List<Patient>> getPatientsChangedSince(@Query("since") String since);
+
+    /**
+     * Retrieves a single page of patients, optionally filtered by patient code.
+     *
+     * <p>The server applies paging and search, so the client only holds the rows
+     * it displays. The total number of matching patients is returned in the
+     * {@code X-Total-Count} response header.</p>
+     *
+     * <p><strong>HTTP Method:</strong> GET<br>
+     * <strong>Endpoint:</strong> {@code /api/surveys?page={page}&size={size}&code={code}}<br>
+     * <strong>Authentication:</strong> Required (Bearer token)</p>
+     *
+     * @param page 1-based page number
+     * @param size Number of patients per page
+     * @param code Fragment of the patient code to search for, or null for all patients
+     * @return Retrofit Call object containing the patients on the requested page
+     */
+    @GET("api/surveys")
+    Call<List<Patient>> getPatientsPage(@Query("page") int page,
+                                        @Query("size") int size,
+                                        @Query("code") String code);
+
     /**
      * Retrieves detailed survey data for a specific patient.
      *This endpoint returns comprehensive patient information including
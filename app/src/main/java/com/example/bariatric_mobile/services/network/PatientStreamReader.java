@@ -0,0 +1,93 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the patient list returned by {@code api/surveys} as a stream.
+ * <p>
+ * Patients are parsed one at a time with a {@link JsonReader} and handed over in
+ * chunks, so only one chunk of {@link Patient} objects exists at a time no matter
+ * how long the list is. The caller decides what to keep from each chunk.
+ *
+ * @example
+ * <pre>
+ * try (ResponseBody body = response.body()) {
+ *     PatientStreamReader.read(body.charStream(), PatientStreamReader.CHUNK_SIZE,
+ *             (chunk, last) -&gt; store.append(chunk));
+ * }
+ * </pre>
+ */
+public final class PatientStreamReader {
+
+    /** Number of patients delivered per chunk */
+    public static final int CHUNK_SIZE = 250;
+
+    private static final TypeAdapter<Patient> PATIENT_ADAPTER = JsonAdapters.gson().getAdapter(Patient.class);
+
+    /**
+     * Receives the parsed patients chunk by chunk.
+     */
+    public interface ChunkHandler {
+        /**
+         * Called on the reading thread for every chunk.
+         *
+         * @param chunk Patients parsed since the previous chunk; not reused afterwards
+         * @param last  Whether this is the final chunk; it may be empty
+         * @throws IOException to stop reading
+         */
+        void onChunk(List<Patient> chunk, boolean last) throws IOException;
+    }
+
+    private PatientStreamReader() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Parses a JSON array of patients and delivers it in chunks.
+     * The final chunk is delivered with {@code last} set, also when the array is empty.
+     *
+     * @param source    The response body
+     * @param chunkSize Maximum number of patients per chunk
+     * @param handler   Receives the chunks
+     * @return The total number of patients read
+     * @throws IOException if the body cannot be read or is not a JSON array of patients
+     */
+    public static int read(Reader source, int chunkSize, ChunkHandler handler) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        JsonReader reader = new JsonReader(source);
+        int total = 0;
+        List<Patient> chunk = new ArrayList<>(chunkSize);
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                chunk.add(PATIENT_ADAPTER.read(reader));
+                total++;
+                if (chunk.size() == chunkSize) {
+                    handler.onChunk(chunk, false);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            reader.endArray();
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException("Malformed patient list", e);
+        }
+        handler.onChunk(chunk, true);
+        return total;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Patient} rows of the survey list without reflection.
+ * Statuses are interned, as every row carries one of a few values.
+ */
+final class PatientTypeAdapter extends TypeAdapter<Patient> {
+
+    @Override
+    public void write(JsonWriter out, Patient patient) throws IOException {
+        out.beginObject();
+        out.name("patient_number").value(patient.getCode());
+        out.name("submission_date").value(patient.getSubmissionDate());
+        out.name("status").value(patient.getStatus());
+        out.name("updated_at").value(patient.getUpdatedAt());
+        out.endObject();
+    }
+
+    @Override
+    public Patient read(JsonReader in) throws IOException {
+        Patient patient = new Patient();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "patient_number":
+                    patient.setCode(JsonAdapters.readString(in));
+                    break;
+                case "submission_date":
+                    patient.setSubmissionDate(JsonAdapters.readString(in));
+                    break;
+                case "status":
+                    patient.setStatus(JsonAdapters.intern(JsonAdapters.readString(in)));
+                    break;
+                case "updated_at":
+                    patient.setUpdatedAt(JsonAdapters.readString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return patient;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link PredictionResponse} without reflection.
+ */
+final class PredictionResponseTypeAdapter extends TypeAdapter<PredictionResponse> {
+
+    @Override
+    public void write(JsonWriter out, PredictionResponse prediction) throws IOException {
+        out.beginObject();
+        out.name("one_month").value(prediction.getOneMonth());
+        out.name("three_months").value(prediction.getThreeMonths());
+        out.name("six_months").value(prediction.getSixMonths());
+        out.endObject();
+    }
+
+    @Override
+    public PredictionResponse read(JsonReader in) throws IOException {
+        double oneMonth = 0;
+        double threeMonths = 0;
+        double sixMonths = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "one_month":
+                    oneMonth = JsonAdapters.readDouble(in, oneMonth);
+                    break;
+                case "three_months":
+                    threeMonths = JsonAdapters.readDouble(in, threeMonths);
+                    break;
+                case "six_months":
+                    sixMonths = JsonAdapters.readDouble(in, sixMonths);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new PredictionResponse(oneMonth, threeMonths, sixMonths);
+    }
+}
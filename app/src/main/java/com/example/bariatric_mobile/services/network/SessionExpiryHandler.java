@@ -0,0 +1,66 @@
+package com.example.bariatric_mobile.services.network;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces concurrent session expirations into a single logout.
+ * <p>
+ * When a token dies while several requests are in flight, each of them receives
+ * a 401. The first one cancels the remaining in-flight calls and schedules the
+ * logout and login redirect on a background executor; every later 401 is a
+ * no-op until {@link #reset()} is called after the next successful login.
+ *
+ * @see ApiClient
+ */
+public class SessionExpiryHandler {
+
+    private final AtomicBoolean expired = new AtomicBoolean(false);
+    private final Runnable cancelInFlightCalls;
+    private final Executor executor;
+    private final Runnable onSessionExpired;
+
+    /**
+     * Creates a new SessionExpiryHandler.
+     *
+     * @param cancelInFlightCalls Cancels all queued and running network calls
+     * @param executor Executor running the logout work off the network threads
+     * @param onSessionExpired Clears stored credentials and redirects to login
+     */
+    public SessionExpiryHandler(Runnable cancelInFlightCalls, Executor executor, Runnable onSessionExpired) {
+        this.cancelInFlightCalls = cancelInFlightCalls;
+        this.executor = executor;
+        this.onSessionExpired = onSessionExpired;
+    }
+
+    /**
+     * Handles a 401 response for an authenticated request.
+     * Only the first call after a reset performs any work.
+     *
+     * @return True if this call started the session expiration, false if it was already handled
+     */
+    public boolean onUnauthorized() {
+        if (!expired.compareAndSet(false, true)) {
+            return false;
+        }
+        cancelInFlightCalls.run();
+        executor.execute(onSessionExpired);
+        return true;
+    }
+
+    /**
+     * Checks whether the current session has already been expired.
+     *
+     * @return True if expiration was handled and no new login happened since
+     */
+    public boolean isExpired() {
+        return expired.get();
+    }
+
+    /**
+     * Re-arms the handler after a new session has been established.
+     */
+    public void reset() {
+        expired.set(false);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link SurveyData} without reflection.
+ * <p>
+ * Disease, treatment and contraindication lists, as well as the fields holding
+ * one of a few fixed values, are interned through {@link JsonAdapters#intern(String)}.
+ * Unknown fields are skipped, and a JSON null leaves a primitive field at its default.
+ */
+final class SurveyDataTypeAdapter extends TypeAdapter<SurveyData> {
+
+    @Override
+    public void write(JsonWriter out, SurveyData survey) throws IOException {
+        out.beginObject();
+        out.name("patientCode").value(survey.getPatientCode());
+        out.name("birthDate").value(survey.getBirthDate());
+        out.name("gender").value(survey.getGender());
+        out.name("referralType").value(survey.getReferralType());
+        out.name("referralPIN").value(survey.getReferralPIN());
+        out.name("weight").value(survey.getWeight());
+        out.name("height").value(survey.getHeight());
+        out.name("considerSurgery").value(survey.isConsiderSurgery());
+        out.name("diseases");
+        JsonAdapters.writeStrings(out, survey.getDiseases());
+        out.name("additionalDiseases");
+        JsonAdapters.writeStrings(out, survey.getAdditionalDiseases());
+        out.name("contraindications");
+        JsonAdapters.writeStrings(out, survey.getContraindications());
+        out.name("otherDiseases").value(survey.getOtherDiseases());
+        out.name("maxWeight").value(survey.getMaxWeight());
+        out.name("obesityYears").value(survey.getObesityYears());
+        out.name("previousTreatments");
+        JsonAdapters.writeStrings(out, survey.getPreviousTreatments());
+        out.name("chronicMedication").value(survey.isChronicMedication());
+        out.name("medicationDetails").value(survey.getMedicationDetails());
+        out.name("physicalActivity").value(survey.isPhysicalActivity());
+        out.name("healthyEating").value(survey.isHealthyEating());
+        out.name("processedFood").value(survey.isProcessedFood());
+        out.name("compulsiveEating").value(survey.getCompulsiveEating());
+        out.name("alcoholConsumption").value(survey.isAlcoholConsumption());
+        out.name("smoking").value(survey.isSmoking());
+        out.name("suicidalThoughts").value(survey.isSuicidalThoughts());
+        out.name("psychiatristSupport").value(survey.isPsychiatristSupport());
+        out.name("psychiatricDiagnosis").value(survey.getPsychiatricDiagnosis());
+        out.name("psychologistSupport").value(survey.isPsychologistSupport());
+        out.name("familyDiseases");
+        JsonAdapters.writeStrings(out, survey.getFamilyDiseases());
+        out.name("abdomenSurgeries").value(survey.isAbdomenSurgeries());
+        out.name("surgeriesDetails").value(survey.getSurgeriesDetails());
+        out.name("specialistClinic").value(survey.isSpecialistClinic());
+        out.name("clinicType").value(survey.getClinicType());
+        out.name("bmi").value(survey.getBmi());
+        out.name("status").value(survey.getStatus());
+        out.name("date").value(survey.getDate());
+        out.name("submissionDate").value(survey.getSubmissionDate());
+        out.endObject();
+    }
+
+    @Override
+    public SurveyData read(JsonReader in) throws IOException {
+        SurveyData survey = new SurveyData();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "patientCode":
+                    survey.setPatientCode(JsonAdapters.readString(in));
+                    break;
+                case "birthDate":
+                    survey.setBirthDate(JsonAdapters.readString(in));
+                    break;
+                case "gender":
+                    survey.setGender(JsonAdapters.intern(JsonAdapters.readString(in)));
+                    break;
+                case "referralType":
+                    survey.setReferralType(JsonAdapters.intern(JsonAdapters.readString(in)));
+                    break;
+                case "referralPIN":
+                    survey.setReferralPIN(JsonAdapters.readString(in));
+                    break;
+                case "weight":
+                    survey.setWeight(JsonAdapters.readInt(in, survey.getWeight()));
+                    break;
+                case "height":
+                    survey.setHeight(JsonAdapters.readInt(in, survey.getHeight()));
+                    break;
+                case "considerSurgery":
+                    survey.setConsiderSurgery(JsonAdapters.readBoolean(in, survey.isConsiderSurgery()));
+                    break;
+                case "diseases":
+                    survey.setDiseases(JsonAdapters.readCodes(in));
+                    break;
+                case "additionalDiseases":
+                    survey.setAdditionalDiseases(JsonAdapters.readCodes(in));
+                    break;
+                case "contraindications":
+                    survey.setContraindications(JsonAdapters.readCodes(in));
+                    break;
+                case "otherDiseases":
+                    survey.setOtherDiseases(JsonAdapters.readString(in));
+                    break;
+                case "maxWeight":
+                    survey.setMaxWeight(JsonAdapters.readInt(in, survey.getMaxWeight()));
+                    break;
+                case "obesityYears":
+                    survey.setObesityYears(JsonAdapters.readInt(in, survey.getObesityYears()));
+                    break;
+                case "previousTreatments":
+                    survey.setPreviousTreatments(JsonAdapters.readCodes(in));
+                    break;
+                case "chronicMedication":
+                    survey.setChronicMedication(JsonAdapters.readBoolean(in, survey.isChronicMedication()));
+                    break;
+                case "medicationDetails":
+                    survey.setMedicationDetails(JsonAdapters.readString(in));
+                    break;
+                case "physicalActivity":
+                    survey.setPhysicalActivity(JsonAdapters.readBoolean(in, survey.isPhysicalActivity()));
+                    break;
+                case "healthyEating":
+                    survey.setHealthyEating(JsonAdapters.readBoolean(in, survey.isHealthyEating()));
+                    break;
+                case "processedFood":
+                    survey.setProcessedFood(JsonAdapters.readBoolean(in, survey.isProcessedFood()));
+                    break;
+                case "compulsiveEating":
+                    survey.setCompulsiveEating(JsonAdapters.readInt(in, survey.getCompulsiveEating()));
+                    break;
+                case "alcoholConsumption":
+                    survey.setAlcoholConsumption(JsonAdapters.readBoolean(in, survey.isAlcoholConsumption()));
+                    break;
+                case "smoking":
+                    survey.setSmoking(JsonAdapters.readBoolean(in, survey.isSmoking()));
+                    break;
+                case "suicidalThoughts":
+                    survey.setSuicidalThoughts(JsonAdapters.readBoolean(in, survey.isSuicidalThoughts()));
+                    break;
+                case "psychiatristSupport":
+                    survey.setPsychiatristSupport(JsonAdapters.readBoolean(in, survey.isPsychiatristSupport()));
+                    break;
+                case "psychiatricDiagnosis":
+                    survey.setPsychiatricDiagnosis(JsonAdapters.readString(in));
+                    break;
+                case "psychologistSupport":
+                    survey.setPsychologistSupport(JsonAdapters.readBoolean(in, survey.isPsychologistSupport()));
+                    break;
+                case "familyDiseases":
+                    survey.setFamilyDiseases(JsonAdapters.readCodes(in));
+                    break;
+                case "abdomenSurgeries":
+                    survey.setAbdomenSurgeries(JsonAdapters.readBoolean(in, survey.isAbdomenSurgeries()));
+                    break;
+                case "surgeriesDetails":
+                    survey.setSurgeriesDetails(JsonAdapters.readString(in));
+                    break;
+                case "specialistClinic":
+                    survey.setSpecialistClinic(JsonAdapters.readBoolean(in, survey.isSpecialistClinic()));
+                    break;
+                case "clinicType":
+                    survey.setClinicType(JsonAdapters.intern(JsonAdapters.readString(in)));
+                    break;
+                case "bmi":
+                    survey.setBmi(JsonAdapters.readDouble(in, survey.getBmi()));
+                    break;
+                case "status":
+                    survey.setStatus(JsonAdapters.intern(JsonAdapters.readString(in)));
+                    break;
+                case "date":
+                    survey.setDate(JsonAdapters.readString(in));
+                    break;
+                case "submissionDate":
+                    survey.setSubmissionDate(JsonAdapters.readString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return survey;
+    }
+}
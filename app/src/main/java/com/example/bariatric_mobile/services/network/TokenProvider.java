@@ -0,0 +1,30 @@
+package com.example.bariatric_mobile.services.network;
+
+/**
+ * Source of the bearer token attached to outgoing API requests.
+ * <p>
+ * Decouples the shared HTTP client from the storage that holds credentials,
+ * so the client can be built once per process while the token it sends
+ * changes with login and logout.
+ *
+ * @see ApiClient#initialize(android.content.Context, TokenProvider)
+ */
+public interface TokenProvider {
+
+    /**
+     * Returns the current authentication token.
+     *
+     * @return The token to send, or null if the user is not authenticated
+     */
+    String getToken();
+
+    /**
+     * Checks whether the current token is already known to be expired.
+     * Requests carrying such a token are rejected locally instead of being sent.
+     *
+     * @return True if the token has expired, false if it is valid or its expiry is unknown
+     */
+    default boolean isTokenExpired() {
+        return false;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.auth.User;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link User} without reflection, both for the login response
+ * and for the copy kept by {@link com.example.bariatric_mobile.services.local.CredentialStore}.
+ */
+final class UserTypeAdapter extends TypeAdapter<User> {
+
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        out.beginObject();
+        out.name("id").value(user.getId());
+        out.name("name").value(user.getName());
+        out.name("surname").value(user.getSurname());
+        out.name("email").value(user.getEmail());
+        out.endObject();
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        Long id = null;
+        String name = null;
+        String surname = null;
+        String email = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    id = readId(in);
+                    break;
+                case "name":
+                    name = JsonAdapters.readString(in);
+                    break;
+                case "surname":
+                    surname = JsonAdapters.readString(in);
+                    break;
+                case "email":
+                    email = JsonAdapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new User(id, name, surname, email);
+    }
+
+    private static Long readId(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bariatric_mobile.utils;
+
+import android.os.SystemClock;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the time from the creation of a screen until its chart is first painted.
+ *
+ * <p>The timer starts when it is created, typically in {@code onCreate}, and is
+ * stopped by the first call to {@link #markPainted()}; later calls are ignored,
+ * so refreshing the chart does not overwrite the measurement.</p>
+ *
+ * @example
+ * <pre>
+ * ChartPaintTimer timer = new ChartPaintTimer();
+ * // ... chart data bound and drawn ...
+ * long millis = timer.markPainted();
+ * // Returns: time since creation, or -1 if already measured
+ * </pre>
+ */
+public class ChartPaintTimer {
+
+    /** Name of the trace section covering creation until the chart is painted */
+    public static final String TRACE_SECTION = "PatientDetails:chartPainted";
+
+    private final LongSupplier clock;
+    private final long createdAt;
+    private long paintedAfterMillis = -1;
+
+    /**
+     * Creates a timer started now, measured with the monotonic system clock.
+     */
+    public ChartPaintTimer() {
+        this(SystemClock::elapsedRealtime);
+    }
+
+    /**
+     * Constructor for testing that allows a custom clock.
+     *
+     * @param clock Source of the current time in milliseconds
+     */
+    @VisibleForTesting
+    ChartPaintTimer(LongSupplier clock) {
+        this.clock = clock;
+        this.createdAt = clock.getAsLong();
+    }
+
+    /**
+     * Stops the timer when the chart is painted for the first time.
+     *
+     * @return Milliseconds since creation, or -1 if the paint was already recorded
+     */
+    public synchronized long markPainted() {
+        if (paintedAfterMillis >= 0) return -1;
+        paintedAfterMillis = clock.getAsLong() - createdAt;
+        return paintedAfterMillis;
+    }
+
+    /**
+     * @return True once the first paint has been recorded
+     */
+    public synchronized boolean isPainted() {
+        return paintedAfterMillis >= 0;
+    }
+
+    /**
+     * @return Milliseconds from creation to the first paint, or -1 if not painted yet
+     */
+    public synchronized long getPaintedAfterMillis() {
+        return paintedAfterMillis;
+    }
+}
@@ -4,10 +4,13 @@ import android.content.Context;
 
 import com.example.bariatric_mobile.R;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for formatting various data types for display in the UI.
@@ -23,6 +26,15 @@ import java.util.Locale;
  */
 public class DataFormatter {
 
+    /** Returned by {@link #parseIsoDate(String)} when the text is not a valid ISO date-time */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final String DISPLAY_DATE_PATTERN = "dd.MM.yyyy";
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Display formatters are immutable and thread-safe, so one per locale is shared */
+    private static final Map<Locale, DateTimeFormatter> DISPLAY_FORMATTERS = new ConcurrentHashMap<>();
+
     /**
      * Private constructor to prevent instantiation of utility class.
      */
@@ -163,7 +175,9 @@ public class DataFormatter {
      * Formats an ISO date string to a user-friendly format.
      *
      * <p>Converts ISO 8601 date format (yyyy-MM-dd'T'HH:mm:ss) to Polish
-     * date format (dd.MM.yyyy). If parsing fails, returns the original string.</p>
+     * date format (dd.MM.yyyy). If parsing fails, returns the original string.
+     * Rows displayed repeatedly should keep the value of {@link #parseIsoDate(String)}
+     * and use {@link #formatDate(long, String)} instead.</p>
      *
      * @param isoDate The ISO date string to format, may be null or invalid
      * @return Formatted date string (dd.MM.yyyy) or original string if parsing fails
@@ -176,13 +190,88 @@ public class DataFormatter {
      */
     public static String formatDate(String isoDate) {
         if (isoDate == null || isoDate.isEmpty()) return "";
+        return formatDate(parseIsoDate(isoDate), isoDate);
+    }
+
+    /**
+     * Formats a date parsed earlier with {@link #parseIsoDate(String)}.
+     *
+     * <p>Uses a cached formatter for the current default locale, so no formatter
+     * is created per call.</p>
+     *
+     * @param epochMillis The parsed date, or {@link #NO_DATE}
+     * @param fallback Text returned when the date could not be parsed, may be null
+     * @return Formatted date string (dd.MM.yyyy), the fallback, or "" if both are missing
+     */
+    public static String formatDate(long epochMillis, String fallback) {
+        if (epochMillis == NO_DATE) return fallback != null ? fallback : "";
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+        return displayFormatter(Locale.getDefault()).format(date);
+    }
+
+    /**
+     * Parses the leading {@code yyyy-MM-dd'T'HH:mm:ss} part of an ISO date string.
+     *
+     * <p>Anything after the seconds (fractions, offset) is ignored, and the wall-clock
+     * time is stored as if it were UTC, so formatting the value gives back the same
+     * calendar date regardless of the device time zone. The digits are read in place,
+     * without creating parser objects.</p>
+     *
+     * @param isoDate The ISO date string, may be null or invalid
+     * @return The date-time as epoch milliseconds, or {@link #NO_DATE} if it cannot be parsed
+     *
+     * @example
+     * <pre>
+     * long submitted = DataFormatter.parseIsoDate("2024-03-15T14:30:00");
+     * String text = DataFormatter.formatDate(submitted, null);
+     * // Returns: "15.03.2024"
+     * </pre>
+     */
+    public static long parseIsoDate(String isoDate) {
+        if (isoDate == null || isoDate.length() < 19
+                || isoDate.charAt(4) != '-' || isoDate.charAt(7) != '-' || isoDate.charAt(10) != 'T'
+                || isoDate.charAt(13) != ':' || isoDate.charAt(16) != ':') {
+            return NO_DATE;
+        }
+        int year = digits(isoDate, 0, 4);
+        int month = digits(isoDate, 5, 2);
+        int day = digits(isoDate, 8, 2);
+        int hour = digits(isoDate, 11, 2);
+        int minute = digits(isoDate, 14, 2);
+        int second = digits(isoDate, 17, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NO_DATE;
+        }
         try {
-            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            SimpleDateFormat outputFormat = new SimpleDateFormat("dd.MM.yyyy", Locale.getDefault());
-            Date date = inputFormat.parse(isoDate);
-            return date != null ? outputFormat.format(date) : isoDate;
-        } catch (Exception e) {
-            return isoDate;
+            long epochDay = LocalDate.of(year, month, day).toEpochDay();
+            return epochDay * MILLIS_PER_DAY + ((hour * 60L + minute) * 60L + second) * 1000L;
+        } catch (DateTimeException e) {
+            return NO_DATE;
+        }
+    }
+
+    /**
+     * Reads a fixed-width run of decimal digits.
+     *
+     * @return The parsed value, or -1 if a non-digit is found
+     */
+    private static int digits(String text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static DateTimeFormatter displayFormatter(Locale locale) {
+        DateTimeFormatter formatter = DISPLAY_FORMATTERS.get(locale);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(DISPLAY_DATE_PATTERN, locale);
+            DISPLAY_FORMATTERS.putIfAbsent(locale, formatter);
         }
+        return formatter;
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.bariatric_mobile.utils;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Utility class for reading the expiry time of JWT access tokens on the device.
+ *
+ * <p>The signing key is only known to the backend, so the signature is not verified
+ * here. The token is parsed without its signature part just to read the {@code exp}
+ * claim, which lets the app skip tokens that are already dead without a network
+ * round trip. The server still validates every token it receives.</p>
+ *
+ */
+public class JwtExpiryParser {
+
+    /** Returned when the token has no readable {@code exp} claim */
+    public static final long NO_EXPIRY = -1L;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private JwtExpiryParser() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Reads the {@code exp} claim of a JWT.
+     *
+     * @param token The compact JWT string, may be null or not a JWT at all
+     * @return Expiry time in epoch milliseconds, or {@link #NO_EXPIRY} if unknown
+     *
+     * @example
+     * <pre>
+     * long expiresAt = JwtExpiryParser.parseExpiry(token);
+     * boolean expired = expiresAt != JwtExpiryParser.NO_EXPIRY
+     *         &amp;&amp; System.currentTimeMillis() &gt;= expiresAt;
+     * </pre>
+     */
+    public static long parseExpiry(String token) {
+        if (token == null) return NO_EXPIRY;
+
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart <= 0 || token.indexOf('.') == signatureStart) {
+            return NO_EXPIRY;
+        }
+        String unsignedToken = token.substring(0, signatureStart + 1);
+
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder().build().parseClaimsJwt(unsignedToken).getBody();
+        } catch (ExpiredJwtException e) {
+            claims = e.getClaims();
+        } catch (RuntimeException e) {
+            // Malformed header or payload JSON surfaces as JwtException, IllegalArgumentException
+            // or ClassCastException depending on where decoding stops
+            return NO_EXPIRY;
+        }
+
+        Date expiration = claims != null ? claims.getExpiration() : null;
+        return expiration != null ? expiration.getTime() : NO_EXPIRY;
+    }
+
+    /**
+     * Checks whether the given expiry time has passed.
+     *
+     * @param expiresAt Expiry time in epoch milliseconds or {@link #NO_EXPIRY}
+     * @param now Current time in epoch milliseconds
+     * @return True if the expiry is known and not after {@code now}
+     */
+    public static boolean isExpired(long expiresAt, long now) {
+        return expiresAt != NO_EXPIRY && now >= expiresAt;
+    }
+}
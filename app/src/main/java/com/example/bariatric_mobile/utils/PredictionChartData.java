@@ -0,0 +1,88 @@
+package com.example.bariatric_mobile.utils;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+
+import java.util.Locale;
+
+/**
+ * Utility class preparing the weight prediction chart of the patient details screen.
+ *
+ * <p>The chart has four points: the weight before surgery and the predicted
+ * weight one, three and six months after it. A point without a positive value
+ * has no data and is left out of the line.</p>
+ *
+ * @example
+ * <pre>
+ * float[] weights = PredictionChartData.weights(130, prediction);
+ * // Returns: [130.0, 121.5, 112.0, 104.3]
+ * PredictionChartData.formatWeight(121.5f, "kg");
+ * // Returns: "121.5 kg"
+ * </pre>
+ */
+public final class PredictionChartData {
+
+    /** Number of points on the chart: before surgery, 1, 3 and 6 months after */
+    public static final int POINT_COUNT = 4;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private PredictionChartData() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Returns the weights shown on the chart, in point order.
+     *
+     * @param currentWeight The weight of the patient before surgery, in kilograms
+     * @param prediction    The predicted weights
+     * @return {@link #POINT_COUNT} weights; {@link Float#NaN} where there is no data
+     */
+    public static float[] weights(int currentWeight, PredictionResponse prediction) {
+        return new float[]{
+                point(currentWeight),
+                point(prediction.getOneMonth()),
+                point(prediction.getThreeMonths()),
+                point(prediction.getSixMonths())
+        };
+    }
+
+    /**
+     * Checks whether a chart point has data.
+     *
+     * @param weight A weight returned by {@link #weights(int, PredictionResponse)}
+     * @return True if the point should be drawn
+     */
+    public static boolean hasData(float weight) {
+        return !Float.isNaN(weight);
+    }
+
+    /**
+     * Formats a weight of a chart point for its tooltip.
+     *
+     * @param weight The weight in kilograms
+     * @param unit   The localized weight unit
+     * @return The weight with one decimal place and the unit
+     */
+    public static String formatWeight(float weight, String unit) {
+        return String.format(Locale.getDefault(), "%.1f %s", weight, unit);
+    }
+
+    /**
+     * Formats a label of the weight axis. Whole values are shown without decimals.
+     *
+     * @param value The axis value in kilograms
+     * @param unit  The localized weight unit
+     * @return The value and the unit
+     */
+    public static String formatAxisValue(float value, String unit) {
+        if (value == Math.rint(value)) {
+            return String.format(Locale.getDefault(), "%d %s", (long) value, unit);
+        }
+        return formatWeight(value, unit);
+    }
+
+    private static float point(double weight) {
+        return weight > 0 && !Double.isNaN(weight) ? (float) weight : Float.NaN;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bariatric_mobile.utils;
+
+import android.os.Build;
+import android.os.StrictMode;
+
+import androidx.annotation.RequiresApi;
+
+/**
+ * Utility class enabling StrictMode in debug builds.
+ *
+ * <p>Disk and network access on the main thread is detected and logged. Access
+ * made by keystore and encrypted storage code, i.e. {@code androidx.security.crypto}
+ * or the classes that use it for credentials, also crashes the app, so
+ * instrumented tests fail as soon as such work reaches the main thread again.
+ * Crashing needs the violation listener of Android 9; older versions only log.</p>
+ *
+ * @example
+ * <pre>
+ * if (BuildConfig.DEBUG) {
+ *     StrictModePolicy.enable();
+ * }
+ * </pre>
+ */
+public final class StrictModePolicy {
+
+    /** Code whose main-thread I/O is an error rather than a warning */
+    private static final String[] GUARDED_CODE = {
+            "androidx.security.crypto.",
+            "com.example.bariatric_mobile.services.local.CredentialStore",
+            "com.example.bariatric_mobile.repositories.AuthRepository",
+    };
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private StrictModePolicy() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Enables the thread and VM policies for the calling (main) thread.
+     */
+    public static void enable() {
+        StrictMode.ThreadPolicy.Builder threadPolicy = new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .detectNetwork()
+                .penaltyLog();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            Api28Impl.crashOnGuardedViolation(threadPolicy);
+        }
+        StrictMode.setThreadPolicy(threadPolicy.build());
+
+        StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                .detectLeakedClosableObjects()
+                .detectLeakedSqlLiteObjects()
+                .penaltyLog()
+                .build());
+    }
+
+    /**
+     * Checks whether a violation was caused by guarded code.
+     *
+     * @param violation The reported violation, whose stack trace shows where the access happened
+     * @return True if a frame of the stack trace belongs to guarded code
+     */
+    static boolean isGuarded(Throwable violation) {
+        for (StackTraceElement frame : violation.getStackTrace()) {
+            String className = frame.getClassName();
+            for (String guarded : GUARDED_CODE) {
+                if (className.startsWith(guarded)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calls to APIs added in Android 9, kept apart so older versions never load them.
+     */
+    @RequiresApi(Build.VERSION_CODES.P)
+    private static final class Api28Impl {
+        private Api28Impl() {
+        }
+
+        static void crashOnGuardedViolation(StrictMode.ThreadPolicy.Builder threadPolicy) {
+            threadPolicy.penaltyListener(Runnable::run, violation -> {
+                if (isGuarded(violation)) {
+                    throw new IllegalStateException("Main-thread I/O in credential storage", violation);
+                }
+            });
+        }
+    }
+}
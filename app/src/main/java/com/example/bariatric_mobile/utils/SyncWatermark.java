@@ -0,0 +1,48 @@
+package com.example.bariatric_mobile.utils;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import java.util.List;
+
+/**
+ * Utility class for tracking the high-water mark of synchronized patient rows.
+ *
+ * <p>The watermark is the newest {@link Patient#getLastModified()} value seen so far.
+ * Dates come from the backend as ISO 8601 strings in a single format, so they are
+ * compared lexicographically without parsing.</p>
+ *
+ */
+public class SyncWatermark {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SyncWatermark() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Advances a watermark past every row in the list.
+     *
+     * @param previous The current watermark, may be null if nothing was synced yet
+     * @param patients Rows received from the server
+     * @return The newest modification date among {@code previous} and the rows
+     *
+     * @example
+     * <pre>
+     * String next = SyncWatermark.advance("2024-03-14T10:00:00", delta);
+     * // Returns the latest submission or status change date in delta,
+     * // or "2024-03-14T10:00:00" if delta holds nothing newer
+     * </pre>
+     */
+    public static String advance(String previous, List<Patient> patients) {
+        String watermark = previous;
+        for (Patient patient : patients) {
+            String modified = patient.getLastModified();
+            if (modified != null && (watermark == null || modified.compareTo(watermark) > 0)) {
+                watermark = modified;
+            }
+        }
+        return watermark;
+    }
+}
@@ -10,28 +10,69 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.example.bariatric_mobile.models.auth.User;
 import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientCodeIndex;
+import com.example.bariatric_mobile.models.patient.PatientTable;
+import com.example.bariatric_mobile.models.patient.PatientChanges;
 import com.example.bariatric_mobile.repositories.AuthRepository;
+import com.example.bariatric_mobile.repositories.Cancellable;
+import com.example.bariatric_mobile.repositories.DetailsPrefetcher;
+import com.example.bariatric_mobile.repositories.PagedPatientSource;
 import com.example.bariatric_mobile.repositories.PatientRepository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * ViewModel responsible for managing patient data and user session in the doctor's dashboard.
  * Provides support for data loading, searching, pagination, and logout actions.
+ * <p>
+ * Until the locally stored patient list is available, pages and search results
+ * come from the server through a {@link PagedPatientSource}, which keeps only a
+ * few pages in memory. Once the local list is loaded, paging and search run on it.
+ * <p>
+ * Searching the local list is debounced and runs on a background thread through
+ * {@link PatientSearch}; only the result of the latest query is published.
+ * <p>
+ * The local list is held in a columnar {@link PatientTable} and search results
+ * are row indexes into it; {@link Patient} objects are only created for the rows
+ * read through {@link #getPatients()} or {@link #getPatientsForPage(int, int)}.
+ * <p>
+ * The details of the patients on the shown page can be prefetched through a
+ * {@link DetailsPrefetcher}, so opening one of them is instant.
+ * <p>
+ * List, page and prefetch downloads still running when the dashboard goes away
+ * for good are cancelled in {@link #onCleared()}.
  */
 public class DashboardViewModel extends AndroidViewModel {
 
+    /** Number of patients shown on one dashboard page */
+    public static final int PAGE_SIZE = 10;
+
     private final PatientRepository patientRepository;
     private final AuthRepository authRepository;
+    private final PagedPatientSource pagedSource;
+    private final PatientSearch search;
+    private final DetailsPrefetcher prefetcher;
+    private final PatientCodeIndex codeIndex = new PatientCodeIndex(PatientTable.of(new ArrayList<>()));
+    /** Latest list request, cancelled when a newer one starts or the ViewModel is cleared */
+    private Cancellable listRequest;
 
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>(null);
     private final MutableLiveData<List<Patient>> patients = new MutableLiveData<>(new ArrayList<>());
 
-    private List<Patient> fullList = new ArrayList<>();
-    private List<Patient> filteredList = new ArrayList<>();
+    /** Immutable; replaced as a whole, under the ViewModel's lock when derived from the previous table */
+    private volatile PatientTable table = PatientTable.of(new ArrayList<>());
+    /** View of the matching rows of {@link #table}, replaced with every search result */
+    private volatile List<Patient> filteredList = new ArrayList<>();
+    private volatile String currentQuery = "";
+    private volatile boolean localListLoaded = false;
+    /** Statuses changed on this dashboard by patient code, until downloaded rows show them; guarded by the ViewModel's lock */
+    private final Map<String, String> localStatuses = new HashMap<>();
 
     /**
      * Creates a new instance of DashboardViewModel.
@@ -40,8 +81,41 @@ public class DashboardViewModel extends AndroidViewModel {
      */
     public DashboardViewModel(@NonNull Application application) {
         super(application);
-        this.patientRepository = new PatientRepository();
+        this.patientRepository = new PatientRepository(application);
         this.authRepository = new AuthRepository(application);
+        this.pagedSource = createPagedSource();
+        this.search = createSearch();
+        this.prefetcher = createPrefetcher();
+    }
+
+    /**
+     * Creates the server-driven page source publishing loaded pages to {@link #patients}.
+     */
+    private PagedPatientSource createPagedSource() {
+        return new PagedPatientSource(patientRepository::fetchPatientsPage, PAGE_SIZE, (page, rows) -> {
+            if (!localListLoaded) {
+                patients.postValue(rows);
+            }
+        });
+    }
+
+    /**
+     * Creates the prefetcher warming the detail caches of shown patients.
+     */
+    private DetailsPrefetcher createPrefetcher() {
+        return new DetailsPrefetcher(patientRepository::prefetchPatientDetails,
+                DetailsPrefetcher.DEFAULT_MAX_CONCURRENT);
+    }
+
+    /**
+     * Creates the background search publishing the latest result to {@link #patients}.
+     */
+    private PatientSearch createSearch() {
+        return new PatientSearch(this::matching, (query, searched, rows) -> {
+            List<Patient> result = searched.view(rows);
+            filteredList = result;
+            patients.postValue(result);
+        });
     }
 
     /**
@@ -59,7 +133,9 @@ public class DashboardViewModel extends AndroidViewModel {
     }
 
     /**
-     * @return LiveData with the current (filtered) list of patients.
+     * @return LiveData with the current (filtered) list of patients, or the latest
+     * loaded page while the server-driven source is in use. Observers should read
+     * {@link #getTotalPatients()} and {@link #getPatientsForPage(int, int)} on change.
      */
     public LiveData<List<Patient>> getPatients() {
         return patients;
@@ -82,18 +158,73 @@ public class DashboardViewModel extends AndroidViewModel {
     /**
      * Loads all patients from the repository and populates the LiveData.
      * Also handles loading and error state.
+     * <p>
+     * The locally stored list is published first; rows changed on the server
+     * are merged in afterwards without replacing the whole list. The first page
+     * is requested from the server at the same time, so the dashboard is not
+     * empty while no local list exists yet.
+     * <p>
+     * On first sync the list arrives in chunks. The first chunk is published as
+     * soon as it is parsed, later ones each time the list has doubled in size
+     * and once it is complete, so rebuilding the table costs linear time overall.
+     * <p>
+     * A list request still running from an earlier call is cancelled first.
      */
     public void loadPatients() {
         isLoading.setValue(true);
-        patientRepository.fetchAllPatients(new PatientRepository.PatientListCallback() {
+        if (!localListLoaded) {
+            pagedSource.setQuery(currentQuery);
+        }
+        if (listRequest != null) {
+            listRequest.cancel();
+        }
+        listRequest = patientRepository.fetchAllPatients(new PatientRepository.PatientListCallback() {
+            private final PatientTable.Builder streamed = new PatientTable.Builder();
+            private int nextPublishSize = 1;
+
             @Override
             public void onSuccess(List<Patient> result) {
                 isLoading.postValue(false);
                 error.postValue(null);
 
-                fullList = result != null ? result : new ArrayList<>();
-                filteredList = new ArrayList<>(fullList);
-                patients.postValue(filteredList);
+                PatientTable updated;
+                synchronized (DashboardViewModel.this) {
+                    updated = withLocalStatuses(PatientTable.of(result != null ? result : new ArrayList<>()));
+                    table = updated;
+                    localListLoaded = true;
+                }
+                search.submitNow(updated, currentQuery);
+            }
+
+            @Override
+            public void onChunk(List<Patient> chunk, boolean last) {
+                for (Patient patient : chunk) {
+                    streamed.add(patient);
+                }
+                if (!last && streamed.size() < nextPublishSize) return;
+                nextPublishSize = streamed.size() * 2;
+
+                if (last) {
+                    isLoading.postValue(false);
+                    error.postValue(null);
+                }
+                PatientTable updated;
+                synchronized (DashboardViewModel.this) {
+                    updated = withLocalStatuses(streamed.build());
+                    table = updated;
+                    localListLoaded = true;
+                }
+                search.submitNow(updated, currentQuery);
+            }
+
+            @Override
+            public void onChanges(PatientChanges changes) {
+                PatientTable updated;
+                synchronized (DashboardViewModel.this) {
+                    updated = withLocalStatuses(table.applying(changes));
+                    table = updated;
+                }
+                search.submitNow(updated, currentQuery);
             }
 
             @Override
@@ -106,42 +237,148 @@ public class DashboardViewModel extends AndroidViewModel {
 
     /**
      * Filters the full list of patients by query (matches patient code).
+     * <p>
+     * Safe to call on every keystroke: the search starts after a short pause in
+     * typing, runs off the main thread and replaces any search still in progress.
+     * The result is published through {@link #getPatients()}.
      *
      * @param query The search text entered by the user.
      */
     public void filter(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            filteredList = new ArrayList<>(fullList);
-        } else {
-            filteredList = fullList.stream()
-                    .filter(p -> p.getCode() != null &&
-                            p.getCode().toLowerCase().contains(query.toLowerCase()))
-                    .collect(Collectors.toList());
+        currentQuery = query;
+        if (!localListLoaded) {
+            pagedSource.setQuery(query);
+            return;
         }
-        patients.setValue(filteredList);
+        search.submit(table, query);
+    }
+
+    /**
+     * Returns the rows whose patient code contains the query, ignoring case.
+     * The code index is brought up to date with {@code source} first; only
+     * patients added since the previous search are indexed.
+     *
+     * @param source The table to filter.
+     * @param query  The search text; null or blank matches every patient.
+     * @return Indexes of the matching rows, in table order.
+     */
+    private int[] matching(PatientTable source, String query) {
+        synchronized (codeIndex) {
+            if (codeIndex.getIndexedTable() != source) {
+                codeIndex.update(source);
+            }
+            return codeIndex.findRows(query);
+        }
+    }
+
+    /**
+     * Records a status change made on a displayed patient, e.g. the "NOWA" flag
+     * being cleared when the patient is opened, so it survives page changes.
+     * The change is also applied to tables built from rows downloaded later,
+     * e.g. the next chunk of the first sync, until those rows show it.
+     *
+     * @param patient The displayed patient with its new status.
+     */
+    public void updateStatus(Patient patient) {
+        PatientTable updated;
+        synchronized (this) {
+            if (patient.getCode() != null) {
+                localStatuses.put(patient.getCode(), patient.getStatus());
+            }
+            PatientTable current = table;
+            int row = current.indexOf(patient.getCode());
+            if (row < 0) return;
+            updated = current.withStatus(row, patient.getStatus());
+            table = updated;
+        }
+        search.submitNow(updated, currentQuery);
+    }
+
+    /**
+     * Applies the statuses changed on this dashboard to a table built from
+     * downloaded rows. Changes the rows already show are forgotten.
+     * Called holding the ViewModel's lock.
+     *
+     * @param source The table built from downloaded rows.
+     * @return The table with the local statuses applied.
+     */
+    private PatientTable withLocalStatuses(PatientTable source) {
+        PatientTable result = source;
+        Iterator<Map.Entry<String, String>> statuses = localStatuses.entrySet().iterator();
+        while (statuses.hasNext()) {
+            Map.Entry<String, String> status = statuses.next();
+            int row = result.indexOf(status.getKey());
+            if (row < 0) continue;
+            if (Objects.equals(result.getStatus(row), status.getValue())) {
+                statuses.remove();
+            } else {
+                result = result.withStatus(row, status.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prefetches the details of the shown patients, new submissions first,
+     * replacing any prefetch still running for a previous page.
+     *
+     * @param shown The patients on the shown page.
+     */
+    public void prefetchDetails(List<Patient> shown) {
+        prefetcher.prefetch(shown);
+    }
+
+    /**
+     * Stops prefetching, e.g. while the list is scrolled or the page changes.
+     */
+    public void cancelPrefetch() {
+        prefetcher.cancel();
     }
 
     /**
      * @return The number of patients in the filtered list.
      */
     public int getTotalPatients() {
+        if (!localListLoaded) {
+            return Math.max(pagedSource.getTotalCount(), 0);
+        }
         return filteredList.size();
     }
 
     /**
      * Returns a sublist of patients for a specific page.
+     * With the server-driven source, pages are {@link #PAGE_SIZE} long; a page
+     * that is not loaded yet is returned empty and published once it arrives.
      *
      * @param page         The page number (1-based).
      * @param itemsPerPage The number of items per page.
      * @return A list of patients to be shown on the given page.
      */
     public List<Patient> getPatientsForPage(int page, int itemsPerPage) {
+        if (!localListLoaded) {
+            List<Patient> rows = pagedSource.getPage(page);
+            return rows != null ? rows : new ArrayList<>();
+        }
         int start = (page - 1) * itemsPerPage;
         int end = Math.min(start + itemsPerPage, filteredList.size());
         if (start >= end) return new ArrayList<>();
         return filteredList.subList(start, end);
     }
 
+    /**
+     * Stops the background search and cancels running downloads when the ViewModel is destroyed.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        search.shutdown();
+        if (listRequest != null) {
+            listRequest.cancel();
+        }
+        pagedSource.cancelLoads();
+        prefetcher.cancel();
+    }
+
     /**
      * Initializes the internal full and filtered patient lists with the provided data.
      * This method is intended for testing purposes and bypasses loading from repositories.
@@ -150,8 +387,9 @@ public class DashboardViewModel extends AndroidViewModel {
      */
     @VisibleForTesting
     public void setupPatientLists(List<Patient> patients) {
-        this.fullList = new ArrayList<>(patients);
-        this.filteredList = new ArrayList<>(patients);
+        this.table = PatientTable.of(patients);
+        this.filteredList = table.view(table.allRows());
+        this.localListLoaded = true;
     }
 
     /**
@@ -165,6 +403,9 @@ public class DashboardViewModel extends AndroidViewModel {
         super(application);
         this.authRepository = authRepository;
         this.patientRepository = new PatientRepository();
+        this.pagedSource = createPagedSource();
+        this.search = createSearch();
+        this.prefetcher = createPrefetcher();
     }
 
     /**
@@ -175,12 +416,8 @@ public class DashboardViewModel extends AndroidViewModel {
      */
     @VisibleForTesting
     public void filterWithoutLiveData(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            filteredList = new ArrayList<>(fullList);
-        } else {
-            filteredList = fullList.stream()
-                    .filter(p -> p.getCode() != null && p.getCode().toLowerCase().contains(query.toLowerCase()))
-                    .collect(Collectors.toList());
-        }
+        currentQuery = query;
+        PatientTable current = table;
+        filteredList = current.view(matching(current, query));
     }
 }
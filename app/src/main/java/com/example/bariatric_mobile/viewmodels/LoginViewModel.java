@@ -69,12 +69,14 @@ public class LoginViewModel extends AndroidViewModel {
     }
 
     /**
-     * Checks if user is already authenticated.
+     * Returns LiveData reporting whether the user is already authenticated.
+     * It has no value until secure storage has been opened in the background.
+     * Stored tokens whose {@code exp} claim has passed are not accepted.
      *
-     * @return True if user has valid authentication, false otherwise
+     * @return LiveData containing true if user has valid authentication, false otherwise
      */
-    public boolean isAlreadyAuthenticated() {
-        return authRepository.isAuthenticated();
+    public LiveData<Boolean> getAlreadyAuthenticated() {
+        return authRepository.getAuthenticationState();
     }
 
     /**
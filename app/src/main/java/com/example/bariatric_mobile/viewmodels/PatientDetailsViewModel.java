@@ -7,9 +7,9 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 
 import com.example.bariatric_mobile.models.auth.User;
-import com.example.bariatric_mobile.models.patient.PredictionResponse;
-import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.example.bariatric_mobile.models.patient.PatientDetailsState;
 import com.example.bariatric_mobile.repositories.AuthRepository;
+import com.example.bariatric_mobile.repositories.Cancellable;
 import com.example.bariatric_mobile.repositories.PatientRepository;
 
 /**
@@ -18,11 +18,17 @@ import com.example.bariatric_mobile.repositories.PatientRepository;
  * Handles loading patient survey data and weight loss predictions,
  * provides user authentication state, and manages logout functionality.
  * Follows MVVM architecture pattern with LiveData for reactive UI updates.
+ * <p>
+ * Downloads still running when the screen goes away for good are cancelled in
+ * {@link #onCleared()}, so their responses are neither transferred nor parsed.
  */
 public class PatientDetailsViewModel extends AndroidViewModel {
     private final PatientRepository patientRepository;
     private final AuthRepository authRepository;
 
+    /** Handle of the latest details request, cancelled when the ViewModel is cleared */
+    private Cancellable detailsRequest;
+
     /**
      * Creates a new PatientDetailsViewModel instance.
      *
@@ -30,19 +36,26 @@ public class PatientDetailsViewModel extends AndroidViewModel {
      */
     public PatientDetailsViewModel(@NonNull Application application) {
         super(application);
-        patientRepository = new PatientRepository();
+        patientRepository = new PatientRepository(application);
         authRepository = new AuthRepository(application);
     }
 
     /**
      * Loads patient details and predictions from the API.
-     * Triggers both survey data and prediction data fetching concurrently.
+     * Both are requested concurrently and published together through
+     * {@link #getDetailsState()}.
+     * <p>
+     * A previous request is cancelled once the new one is made, so a download
+     * both need, e.g. after the screen was recreated, is kept.
      *
      * @param patientId The unique identifier of the patient to load
      */
     public void loadPatientDetails(String patientId) {
-        patientRepository.fetchPatientDetails(patientId);
-        patientRepository.fetchPrediction(patientId);
+        Cancellable previous = detailsRequest;
+        detailsRequest = patientRepository.fetchPatientDetailsState(patientId);
+        if (previous != null) {
+            previous.cancel();
+        }
     }
 
     /**
@@ -53,21 +66,12 @@ public class PatientDetailsViewModel extends AndroidViewModel {
     }
 
     /**
-     * Returns LiveData for observing patient survey data changes.
-     *
-     * @return LiveData containing patient details or null if not loaded
-     */
-    public LiveData<SurveyData> getPatientDetails() {
-        return patientRepository.getPatientDetails();
-    }
-
-    /**
-     * Returns LiveData for observing prediction data changes.
+     * Returns LiveData for observing the survey data and prediction of the patient.
      *
-     * @return LiveData containing weight loss predictions or null if not loaded
+     * @return LiveData containing the details screen content or null if not loaded
      */
-    public LiveData<PredictionResponse> getPrediction() {
-        return patientRepository.getPrediction();
+    public LiveData<PatientDetailsState> getDetailsState() {
+        return patientRepository.getDetailsState();
     }
 
     /**
@@ -79,4 +83,14 @@ public class PatientDetailsViewModel extends AndroidViewModel {
         return authRepository.getCurrentUser();
     }
 
+    /**
+     * Cancels the details request when the ViewModel is destroyed.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (detailsRequest != null) {
+            detailsRequest.cancel();
+        }
+    }
 }
\ No newline at end of file
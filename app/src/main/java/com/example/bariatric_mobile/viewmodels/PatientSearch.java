@@ -0,0 +1,151 @@
+package com.example.bariatric_mobile.viewmodels;
+
+import androidx.annotation.VisibleForTesting;
+
+import com.example.bariatric_mobile.models.patient.PatientTable;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs patient searches off the main thread.
+ * <p>
+ * Queries typed by the user are debounced, so a burst of keystrokes results in a
+ * single search. Every new query cancels the pending or running one, and a result
+ * is only reported if no newer query was submitted in the meantime. Searches run
+ * one at a time on a dedicated worker thread, in submission order.
+ */
+public class PatientSearch {
+
+    /** Delay after the last keystroke before a search starts */
+    public static final long DEBOUNCE_MILLIS = 250;
+
+    /**
+     * Finds the patients matching a query.
+     */
+    public interface Matcher {
+        /**
+         * Runs on the worker thread; long scans should stop when the thread is interrupted.
+         *
+         * @param table The patients to search
+         * @param query The search text
+         * @return Indexes of the matching rows, or null if the search was interrupted
+         */
+        int[] match(PatientTable table, String query);
+    }
+
+    /**
+     * Receives the result of the latest search.
+     */
+    public interface ResultListener {
+        /**
+         * Called on the worker thread with the result of the most recent query.
+         *
+         * @param query The query the result belongs to
+         * @param table The table that was searched
+         * @param rows  Indexes of the matching rows
+         */
+        void onResult(String query, PatientTable table, int[] rows);
+    }
+
+    private final Matcher matcher;
+    private final ResultListener listener;
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor;
+
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> pending;
+
+    /**
+     * Creates a search with the default debounce delay and its own worker thread.
+     *
+     * @param matcher  Finds the matching patients
+     * @param listener Receives the latest result
+     */
+    public PatientSearch(Matcher matcher, ResultListener listener) {
+        this(matcher, listener, DEBOUNCE_MILLIS, createExecutor());
+    }
+
+    /**
+     * Constructor for testing that allows a custom delay and executor.
+     *
+     * @param matcher        Finds the matching patients
+     * @param listener       Receives the latest result
+     * @param debounceMillis Delay applied to {@link #submit(PatientTable, String)}
+     * @param executor       Executor running the searches; should be single-threaded
+     */
+    @VisibleForTesting
+    PatientSearch(Matcher matcher, ResultListener listener, long debounceMillis,
+                  ScheduledExecutorService executor) {
+        this.matcher = matcher;
+        this.listener = listener;
+        this.debounceMillis = debounceMillis;
+        this.executor = executor;
+    }
+
+    private static ScheduledExecutorService createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Schedules a search after the debounce delay, replacing any earlier query.
+     *
+     * @param table The patients to search
+     * @param query The search text entered by the user
+     */
+    public void submit(PatientTable table, String query) {
+        schedule(table, query, debounceMillis);
+    }
+
+    /**
+     * Starts a search without delay, replacing any earlier query.
+     * Used when the searched list itself changes.
+     *
+     * @param table The patients to search
+     * @param query The current search text
+     */
+    public void submitNow(PatientTable table, String query) {
+        schedule(table, query, 0);
+    }
+
+    /**
+     * Cancels the pending or running search without starting a new one.
+     */
+    public synchronized void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Cancels any search and stops the worker thread.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private synchronized void schedule(PatientTable table, String query, long delayMillis) {
+        long current = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        pending = executor.schedule(() -> run(current, table, query), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(long scheduledGeneration, PatientTable table, String query) {
+        if (scheduledGeneration != generation.get()) return;
+
+        int[] rows = matcher.match(table, query);
+        if (rows == null || scheduledGeneration != generation.get()) return;
+
+        listener.onResult(query, table, rows);
+    }
+}
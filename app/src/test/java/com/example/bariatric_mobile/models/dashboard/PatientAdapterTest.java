@@ -1,6 +1,7 @@
 package com.example.bariatric_mobile.models.dashboard;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 import com.example.bariatric_mobile.adapters.PatientAdapter;
 import com.example.bariatric_mobile.models.patient.Patient;
@@ -28,4 +29,20 @@ public class PatientAdapterTest {
 
         assertEquals(2, adapter.getItemCount());
     }
+
+    @Test
+    public void getItemId_shouldBeStableForSameCode() {
+        PatientAdapter adapter = new PatientAdapter(List.of(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", "")), patient -> {});
+        long firstId = adapter.getItemId(0);
+
+        assertNotEquals(firstId, adapter.getItemId(1));
+
+        adapter.setPatientListRaw(List.of(
+                new Patient("new111", "2024-03-16T09:00:00", "NOWA"),
+                new Patient("abc123", "2024-03-15T14:30:00", "")));
+
+        assertEquals(firstId, adapter.getItemId(1));
+    }
 }
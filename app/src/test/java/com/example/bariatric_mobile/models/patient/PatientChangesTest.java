@@ -0,0 +1,62 @@
+package com.example.bariatric_mobile.models.patient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PatientChangesTest {
+
+    @Test
+    void between_withIdenticalLists_shouldBeEmpty() {
+        List<Patient> current = Arrays.asList(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""));
+        List<Patient> updated = Arrays.asList(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""));
+
+        assertTrue(PatientChanges.between(current, updated).isEmpty());
+    }
+
+    @Test
+    void between_shouldReportOnlyChangedRows() {
+        List<Patient> current = Arrays.asList(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""),
+                new Patient("old000", "2024-01-01T08:00:00", ""));
+        List<Patient> updated = Arrays.asList(
+                new Patient("new111", "2024-03-16T09:00:00", "NOWA"),
+                new Patient("abc123", "2024-03-15T14:30:00", ""),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""));
+
+        PatientChanges changes = PatientChanges.between(current, updated);
+
+        assertEquals(2, changes.getUpserted().size());
+        assertEquals("new111", changes.getUpserted().get(0).getCode());
+        assertEquals("abc123", changes.getUpserted().get(1).getCode());
+        assertEquals(1, changes.getRemovedCodes().size());
+        assertTrue(changes.getRemovedCodes().contains("old000"));
+    }
+
+    @Test
+    void applyTo_shouldProduceUpdatedList() {
+        List<Patient> current = Arrays.asList(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""),
+                new Patient("old000", "2024-01-01T08:00:00", ""));
+        List<Patient> updated = Arrays.asList(
+                new Patient("new111", "2024-03-16T09:00:00", "NOWA"),
+                new Patient("abc123", "2024-03-15T14:30:00", ""),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""));
+
+        List<Patient> result = PatientChanges.between(current, updated).applyTo(current);
+
+        assertEquals(3, result.size());
+        for (int i = 0; i < updated.size(); i++) {
+            assertTrue(updated.get(i).hasSameContent(result.get(i)));
+        }
+    }
+}
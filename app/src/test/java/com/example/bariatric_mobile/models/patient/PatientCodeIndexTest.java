@@ -0,0 +1,117 @@
+package com.example.bariatric_mobile.models.patient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PatientCodeIndexTest {
+
+    private final PatientTable table = PatientTable.of(Arrays.asList(
+            new Patient("ABC123", "2024-03-15T14:30:00", "NOWA"),
+            new Patient("xyz789", "2024-03-14T10:00:00", ""),
+            new Patient("abd123", "2024-03-13T10:00:00", ""),
+            new Patient(null, "2024-03-12T10:00:00", "")));
+
+    @Test
+    void findRows_withLongQuery_shouldMatchSubstringIgnoringCase() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        assertArrayEquals(new int[]{0}, index.findRows("bc1"));
+        assertArrayEquals(new int[]{0, 2}, index.findRows("123"));
+        assertArrayEquals(new int[]{1}, index.findRows("XYZ789"));
+        assertArrayEquals(new int[0], index.findRows("zzz"));
+    }
+
+    @Test
+    void findRows_withShortQuery_shouldScanCodes() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        assertArrayEquals(new int[]{0, 2}, index.findRows("a"));
+        assertArrayEquals(new int[]{1}, index.findRows("Z7"));
+    }
+
+    @Test
+    void findRows_withBlankQuery_shouldReturnEveryRow() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, index.findRows(" "));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, index.findRows(null));
+    }
+
+    @Test
+    void update_shouldFollowAddedMovedAndRemovedPatients() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        PatientTable updated = table.applying(new PatientChanges(
+                List.of(new Patient("new123", "2024-03-16T09:00:00", "NOWA")),
+                new HashSet<>(Set.of("xyz789"))));
+        index.update(updated);
+
+        List<Patient> result = updated.view(index.findRows("123"));
+        assertEquals(3, result.size());
+        assertEquals("new123", result.get(0).getCode());
+        assertEquals("ABC123", result.get(1).getCode());
+        assertEquals("abd123", result.get(2).getCode());
+        assertEquals(0, index.findRows("xyz").length);
+    }
+
+    @Test
+    void update_afterManyRemovals_shouldStillMatch() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        PatientTable shrunk = table.applying(new PatientChanges(
+                List.of(), new HashSet<>(Set.of("ABC123", "abd123"))));
+        index.update(shrunk);
+        PatientTable grown = shrunk.applying(new PatientChanges(
+                List.of(new Patient("abc999", "2024-03-17T09:00:00", "NOWA")), new HashSet<>()));
+        index.update(grown);
+
+        assertArrayEquals(new int[]{0}, index.findRows("abc"));
+        assertArrayEquals(new int[]{1}, index.findRows("789"));
+    }
+
+    @Test
+    void update_withUnrelatedTable_shouldReindex() {
+        PatientCodeIndex index = new PatientCodeIndex(table);
+
+        index.update(PatientTable.of(List.of(new Patient("qwe456", null, null))));
+
+        assertArrayEquals(new int[]{0}, index.findRows("we4"));
+        assertEquals(0, index.findRows("abc").length);
+    }
+
+    @Test
+    void findRows_onGeneratedCodes_shouldMatchStreamFilter() {
+        String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789";
+        Random random = new Random(42);
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder code = new StringBuilder();
+            for (int c = 0; c < 6; c++) {
+                code.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            patients.add(new Patient(code.toString().toUpperCase() + i, "2024-03-15T14:30:00", ""));
+        }
+        PatientTable generated = PatientTable.of(patients);
+        PatientCodeIndex index = new PatientCodeIndex(generated);
+
+        for (String query : new String[]{"7", "ab", "k3x", "q0z7", "zzzz9"}) {
+            List<String> expected = patients.stream()
+                    .map(Patient::getCode)
+                    .filter(code -> code.toLowerCase().contains(query))
+                    .collect(Collectors.toList());
+            List<String> actual = generated.view(index.findRows(query)).stream()
+                    .map(Patient::getCode)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, query);
+        }
+    }
+}
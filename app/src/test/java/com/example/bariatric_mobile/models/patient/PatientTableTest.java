@@ -0,0 +1,102 @@
+package com.example.bariatric_mobile.models.patient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class PatientTableTest {
+
+    private final PatientTable table = PatientTable.of(Arrays.asList(
+            new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+            new Patient("xyz789", "not a date", ""),
+            new Patient(null, null, null)));
+
+    @Test
+    void of_shouldKeepRowData() {
+        assertEquals(3, table.size());
+        assertEquals("abc123", table.getCode(0));
+        assertEquals("NOWA", table.getStatus(0));
+        assertEquals(19797, table.getSubmissionDay(0));
+        assertEquals(PatientTable.NO_DAY, table.getSubmissionDay(1));
+        assertNull(table.getCode(2));
+        assertNull(table.getStatus(2));
+    }
+
+    @Test
+    void getPatient_shouldKeepDisplayedDate() {
+        assertEquals("15.03.2024", table.getPatient(0).getDisplaySubmissionDate());
+        assertEquals("not a date", table.getPatient(1).getSubmissionDate());
+        assertNull(table.getPatient(2).getSubmissionDate());
+    }
+
+    @Test
+    void view_shouldExposeSelectedRows() {
+        List<Patient> view = table.view(new int[]{1, 0});
+
+        assertEquals(2, view.size());
+        assertEquals("xyz789", view.get(0).getCode());
+        assertEquals("abc123", view.get(1).getCode());
+        assertEquals("xyz789", view.subList(0, 1).get(0).getCode());
+    }
+
+    @Test
+    void indexOf_shouldFindRowByCode() {
+        assertEquals(0, table.indexOf("abc123"));
+        assertEquals(1, table.indexOf("xyz789"));
+        assertEquals(-1, table.indexOf("abc"));
+        assertEquals(-1, table.indexOf(null));
+    }
+
+    @Test
+    void withStatus_shouldChangeOneRowOfNewTable() {
+        PatientTable updated = table.withStatus(0, "");
+
+        assertEquals("", updated.getStatus(0));
+        assertEquals("", updated.getStatus(1));
+        assertEquals("NOWA", table.getStatus(0));
+        assertEquals(table.indexOf("xyz789"), updated.indexOf("xyz789"));
+    }
+
+    @Test
+    void of_withManyDistinctStatuses_shouldKeepEveryStatus() {
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            patients.add(new Patient("P" + i, "2024-03-15T14:30:00", "STATUS" + i));
+        }
+
+        PatientTable many = PatientTable.of(patients);
+
+        assertEquals("STATUS0", many.getStatus(0));
+        assertEquals("STATUS299", many.getStatus(299));
+    }
+
+    @Test
+    void applying_shouldMatchApplyTo() {
+        List<Patient> current = Arrays.asList(
+                new Patient("abc123", "2024-03-15T14:30:00", "NOWA"),
+                new Patient("xyz789", "2024-03-14T10:00:00", ""),
+                new Patient("old000", "2024-01-01T08:00:00", ""));
+        PatientChanges changes = new PatientChanges(
+                Arrays.asList(
+                        new Patient("new111", "2024-03-16T09:00:00", "NOWA"),
+                        new Patient("abc123", "2024-03-15T14:30:00", "")),
+                new HashSet<>(Set.of("old000")));
+
+        PatientTable updated = PatientTable.of(current).applying(changes);
+        List<Patient> expected = changes.applyTo(current);
+
+        assertEquals(expected.size(), updated.size());
+        for (int row = 0; row < expected.size(); row++) {
+            assertEquals(expected.get(row).getCode(), updated.getCode(row));
+            assertEquals(expected.get(row).getStatus(), updated.getStatus(row));
+        }
+        assertEquals(1, updated.indexOf("abc123"));
+        assertEquals(-1, updated.indexOf("old000"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.bariatric_mobile.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CancellableGroupTest {
+
+    private final List<String> cancelled = new ArrayList<>();
+    private final CancellableGroup group = new CancellableGroup();
+
+    @Test
+    void cancel_shouldCancelEveryRequestOnce() {
+        group.add(() -> cancelled.add("details"));
+        group.add(() -> cancelled.add("prediction"));
+
+        group.cancel();
+        group.cancel();
+
+        assertEquals(List.of("details", "prediction"), cancelled);
+        assertTrue(group.isCancelled());
+    }
+
+    @Test
+    void add_afterCancel_shouldCancelRightAway() {
+        group.cancel();
+
+        group.add(() -> cancelled.add("late"));
+
+        assertEquals(List.of("late"), cancelled);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bariatric_mobile.repositories;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetailsPrefetcherTest {
+
+    private final Map<String, Runnable> started = new LinkedHashMap<>();
+    private final List<String> cancelled = new ArrayList<>();
+    private final DetailsPrefetcher prefetcher = new DetailsPrefetcher((code, done) -> {
+        started.put(code, done);
+        return () -> cancelled.add(code);
+    }, 2);
+
+    private static List<Patient> page(String... codesAndStatuses) {
+        List<Patient> rows = new ArrayList<>();
+        for (int i = 0; i < codesAndStatuses.length; i += 2) {
+            rows.add(new Patient(codesAndStatuses[i], null, codesAndStatuses[i + 1]));
+        }
+        return rows;
+    }
+
+    @Test
+    void priorityOrder_shouldPutNewSubmissionsFirst() {
+        List<String> order = DetailsPrefetcher.priorityOrder(
+                page("A", "", "B", "NOWA", "C", "ARCHIWALNA", "D", "nowa"));
+
+        assertEquals(List.of("B", "D", "A", "C"), order);
+    }
+
+    @Test
+    void prefetch_shouldLoadBoundedNumberAtOnce() {
+        prefetcher.prefetch(page("A", "", "B", "", "C", "NOWA"));
+
+        assertEquals(List.of("C", "A"), new ArrayList<>(started.keySet()));
+
+        started.get("C").run();
+        assertEquals(List.of("C", "A", "B"), new ArrayList<>(started.keySet()));
+
+        started.get("A").run();
+        started.get("B").run();
+        assertFalse(prefetcher.isActive());
+    }
+
+    @Test
+    void cancel_shouldStopRunningAndDropQueued() {
+        prefetcher.prefetch(page("A", "", "B", "", "C", ""));
+
+        prefetcher.cancel();
+        started.get("A").run();
+
+        assertEquals(List.of("A", "B"), cancelled);
+        assertEquals(2, started.size());
+        assertFalse(prefetcher.isActive());
+    }
+
+    @Test
+    void prefetch_samePage_shouldKeepRunningPrefetch() {
+        prefetcher.prefetch(page("A", "", "B", ""));
+        prefetcher.prefetch(page("A", "", "B", ""));
+
+        assertTrue(cancelled.isEmpty());
+        assertEquals(2, started.size());
+    }
+
+    @Test
+    void prefetch_otherPage_shouldReplaceRunningPrefetch() {
+        prefetcher.prefetch(page("A", "", "B", ""));
+        prefetcher.prefetch(page("C", "", "D", ""));
+
+        assertEquals(List.of("A", "B"), cancelled);
+        assertEquals(List.of("A", "B", "C", "D"), new ArrayList<>(started.keySet()));
+    }
+
+    @Test
+    void prefetch_loaderCompletingRightAway_shouldContinueWithQueue() {
+        List<String> loaded = new ArrayList<>();
+        DetailsPrefetcher cached = new DetailsPrefetcher((code, done) -> {
+            loaded.add(code);
+            done.run();
+            return () -> fail("Completed prefetch was cancelled");
+        }, 1);
+
+        cached.prefetch(page("A", "", "B", "", "C", ""));
+        cached.cancel();
+
+        assertEquals(List.of("A", "B", "C"), loaded);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.bariatric_mobile.repositories;
+
+import com.example.bariatric_mobile.models.patient.PatientDetailsState;
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DetailsStateJoinTest {
+
+    private final List<PatientDetailsState> states = new ArrayList<>();
+
+    private static SurveyData survey(String code) {
+        SurveyData data = new SurveyData();
+        data.setPatientCode(code);
+        return data;
+    }
+
+    @Test
+    void join_shouldPublishOnceAfterBothParts() {
+        PatientRepository.DetailsStateJoin join =
+                new PatientRepository.DetailsStateJoin("ABC123", null, null, states::add);
+        SurveyData details = survey("ABC123");
+        PredictionResponse prediction = new PredictionResponse(120.5, 110, 100);
+
+        join.prediction.onSuccess(prediction);
+        assertTrue(states.isEmpty());
+        join.details.onSuccess(details);
+
+        assertEquals(1, states.size());
+        PatientDetailsState state = states.get(0);
+        assertEquals("ABC123", state.getPatientCode());
+        assertSame(details, state.getDetails());
+        assertSame(prediction, state.getPrediction());
+        assertTrue(state.isComplete());
+        assertNull(state.getDetailsError());
+        assertNull(state.getPredictionError());
+    }
+
+    @Test
+    void join_failedPrediction_shouldKeepDetailsAndError() {
+        PatientRepository.DetailsStateJoin join =
+                new PatientRepository.DetailsStateJoin("ABC123", null, null, states::add);
+
+        join.details.onSuccess(survey("ABC123"));
+        join.prediction.onError("503");
+
+        PatientDetailsState state = states.get(0);
+        assertNotNull(state.getDetails());
+        assertNull(state.getPrediction());
+        assertEquals("503", state.getPredictionError());
+        assertFalse(state.isComplete());
+        assertFalse(state.isFailed());
+    }
+
+    @Test
+    void join_failedRefresh_shouldFallBackToStaleValue() {
+        SurveyData stale = survey("ABC123");
+        PatientRepository.DetailsStateJoin join =
+                new PatientRepository.DetailsStateJoin("ABC123", stale, null, states::add);
+
+        join.details.onError("timeout");
+        join.prediction.onError(null);
+
+        PatientDetailsState state = states.get(0);
+        assertSame(stale, state.getDetails());
+        assertNull(state.getDetailsError());
+        assertEquals("", state.getPredictionError());
+        assertFalse(state.isFailed());
+    }
+
+    @Test
+    void join_bothFailed_shouldReportFailedState() {
+        PatientRepository.DetailsStateJoin join =
+                new PatientRepository.DetailsStateJoin("ABC123", null, null, states::add);
+
+        join.details.onError("500");
+        join.prediction.onError("500");
+
+        assertEquals(1, states.size());
+        assertTrue(states.get(0).isFailed());
+        assertEquals("500", states.get(0).getDetailsError());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.bariatric_mobile.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class PagedPatientSourceTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final List<Patient> server = new ArrayList<>();
+    private final List<String> requests = new ArrayList<>();
+    private final List<Integer> loadedPages = new ArrayList<>();
+    private PagedPatientSource source;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 95; i++) {
+            server.add(new Patient(String.format(Locale.US, "P%04d", i), null, ""));
+        }
+        PagedPatientSource.PageLoader loader = (page, size, query, callback) -> {
+            requests.add(page + ":" + query);
+            List<Patient> matches = server.stream()
+                    .filter(p -> p.getCode().toLowerCase().contains(query.toLowerCase()))
+                    .collect(Collectors.toList());
+            int from = Math.min((page - 1) * size, matches.size());
+            int to = Math.min(from + size, matches.size());
+            callback.onPageLoaded(new ArrayList<>(matches.subList(from, to)), matches.size());
+            return () -> {};
+        };
+        source = new PagedPatientSource(loader, PAGE_SIZE, (page, rows) -> loadedPages.add(page));
+    }
+
+    @Test
+    void getPage_shouldLoadOnDemandAndReuseLoadedPage() {
+        List<Patient> first = source.getPage(1);
+        assertEquals(PAGE_SIZE, first.size());
+        assertEquals(95, source.getTotalCount());
+
+        source.getPage(1);
+
+        assertEquals(2, requests.size());
+        assertEquals("1:", requests.get(0));
+        assertEquals("2:", requests.get(1));
+    }
+
+    @Test
+    void getPage_shouldPrefetchNextPage() {
+        source.getPage(1);
+        source.getPage(1);
+
+        assertEquals(List.of(1, 2), loadedPages);
+        assertNotNull(source.getPage(2));
+    }
+
+    @Test
+    void getPage_shouldKeepBoundedWindow() {
+        for (int page = 1; page <= 10; page++) {
+            source.getPage(page);
+            source.getPage(page);
+        }
+
+        assertTrue(source.getCachedPageCount() <= PagedPatientSource.MAX_CACHED_PAGES);
+    }
+
+    @Test
+    void getPage_beyondLastPage_shouldNotRequest() {
+        source.getPage(1);
+        requests.clear();
+
+        assertNull(source.getPage(11));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void setQuery_shouldReloadFirstPage() {
+        source.getPage(1);
+        requests.clear();
+
+        source.setQuery("p001");
+
+        assertEquals(List.of("1:p001"), requests);
+        assertEquals(10, source.getTotalCount());
+        assertEquals("P0010", source.getPage(1).get(0).getCode());
+    }
+
+    @Test
+    void setQuery_shouldCancelLoadsOfPreviousQuery() {
+        List<String> cancelled = new ArrayList<>();
+        List<PagedPatientSource.PageCallback> pending = new ArrayList<>();
+        PagedPatientSource deferred = new PagedPatientSource((page, size, query, callback) -> {
+            pending.add(callback);
+            return () -> cancelled.add(page + ":" + query);
+        }, PAGE_SIZE, (page, rows) -> loadedPages.add(page));
+
+        assertNull(deferred.getPage(1));
+        deferred.setQuery("p001");
+
+        assertEquals(List.of("1:"), cancelled);
+        pending.get(0).onPageLoaded(new ArrayList<>(server.subList(0, PAGE_SIZE)), 95);
+        assertTrue(loadedPages.isEmpty());
+    }
+
+    @Test
+    void cancelLoads_shouldAllowReloadingCancelledPage() {
+        List<PagedPatientSource.PageCallback> pending = new ArrayList<>();
+        List<String> cancelled = new ArrayList<>();
+        PagedPatientSource deferred = new PagedPatientSource((page, size, query, callback) -> {
+            pending.add(callback);
+            return () -> cancelled.add(String.valueOf(page));
+        }, PAGE_SIZE, (page, rows) -> loadedPages.add(page));
+
+        deferred.getPage(1);
+        deferred.cancelLoads();
+        deferred.getPage(1);
+
+        assertEquals(List.of("1"), cancelled);
+        assertEquals(2, pending.size());
+        pending.get(1).onPageLoaded(new ArrayList<>(server.subList(0, PAGE_SIZE)), 95);
+        assertEquals(List.of(1), loadedPages);
+    }
+}
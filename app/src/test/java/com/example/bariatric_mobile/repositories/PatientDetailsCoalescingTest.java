@@ -0,0 +1,205 @@
+package com.example.bariatric_mobile.repositories;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.example.bariatric_mobile.services.network.JsonAdapters;
+import com.example.bariatric_mobile.services.network.PatientApiService;
+import com.example.bariatric_mobile.services.network.PredictionApiService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against a local stand-in server that concurrent detail and prediction
+ * requests for one patient, made through separate repositories, cause one download.
+ */
+public class PatientDetailsCoalescingTest {
+
+    private static final int REQUESTERS = 8;
+
+    private final ConcurrentHashMap<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final CountDownLatch releaseResponses = new CountDownLatch(1);
+
+    private MockWebServer server;
+    private PatientApiService patientService;
+    private PredictionApiService predictionService;
+    private ExecutorService requesters;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                requestCounts.computeIfAbsent(request.getMethod() + " " + request.getPath(),
+                        key -> new AtomicInteger()).incrementAndGet();
+                if ("PATCH".equals(request.getMethod())) {
+                    return new MockResponse().setResponseCode(204);
+                }
+                releaseResponses.await(5, TimeUnit.SECONDS);
+                if (request.getPath().startsWith("/api/results/")) {
+                    return new MockResponse().setBody("{\"one_month\":120.0,\"three_months\":110.0,\"six_months\":100.0}");
+                }
+                String code = request.getPath().substring("/api/survey/".length());
+                return new MockResponse().setBody("{\"patientCode\":\"" + code + "\",\"weight\":130}");
+            }
+        });
+        server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(JsonAdapters.gson()))
+                .build();
+        patientService = retrofit.create(PatientApiService.class);
+        predictionService = retrofit.create(PredictionApiService.class);
+        requesters = Executors.newFixedThreadPool(REQUESTERS);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        requesters.shutdownNow();
+        server.shutdown();
+    }
+
+    private int count(String request) {
+        AtomicInteger count = requestCounts.get(request);
+        return count != null ? count.get() : 0;
+    }
+
+    @Test
+    public void concurrentDetailRequests_shouldCauseOneDownloadAndOneStatusUpdate() throws Exception {
+        List<SurveyData> received = new CopyOnWriteArrayList<>();
+        CountDownLatch allReceived = new CountDownLatch(REQUESTERS);
+        CountDownLatch allRequested = new CountDownLatch(REQUESTERS);
+
+        for (int i = 0; i < REQUESTERS; i++) {
+            requesters.execute(() -> {
+                new PatientRepository(patientService, predictionService).requestPatientDetails("COAL1", details -> {
+                    received.add(details);
+                    allReceived.countDown();
+                });
+                allRequested.countDown();
+            });
+        }
+        assertTrue(allRequested.await(5, TimeUnit.SECONDS));
+        releaseResponses.countDown();
+
+        assertTrue(allReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(1, count("GET /api/survey/COAL1"));
+        assertEquals(REQUESTERS, received.size());
+        for (SurveyData details : received) {
+            assertSame(received.get(0), details);
+        }
+
+        awaitRequest("PATCH /api/survey/COAL1");
+        assertEquals(1, count("PATCH /api/survey/COAL1"));
+    }
+
+    @Test
+    public void concurrentPredictionRequests_shouldCauseOneDownload() throws Exception {
+        CountDownLatch allReceived = new CountDownLatch(REQUESTERS);
+        CountDownLatch allRequested = new CountDownLatch(REQUESTERS);
+
+        for (int i = 0; i < REQUESTERS; i++) {
+            requesters.execute(() -> {
+                new PatientRepository(patientService, predictionService).requestPrediction("COAL2",
+                        (PredictionResponse prediction) -> allReceived.countDown());
+                allRequested.countDown();
+            });
+        }
+        assertTrue(allRequested.await(5, TimeUnit.SECONDS));
+        releaseResponses.countDown();
+
+        assertTrue(allReceived.await(5, TimeUnit.SECONDS));
+        assertEquals(1, count("GET /api/results/COAL2"));
+    }
+
+    @Test
+    public void requestAfterCompletion_shouldDownloadAgain() throws Exception {
+        releaseResponses.countDown();
+        PatientRepository repository = new PatientRepository(patientService, predictionService);
+
+        for (int round = 1; round <= 2; round++) {
+            CountDownLatch received = new CountDownLatch(1);
+            repository.requestPatientDetails("COAL3", details -> received.countDown());
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            assertEquals(round, count("GET /api/survey/COAL3"));
+        }
+    }
+
+    @Test
+    public void cancelledRequest_shouldNotBeDeliveredAndNextRequestShouldDownloadAgain() throws Exception {
+        PatientRepository repository = new PatientRepository(patientService, predictionService);
+        CountDownLatch cancelledReceived = new CountDownLatch(1);
+
+        Cancellable request = repository.requestPatientDetails("COAL4", details -> cancelledReceived.countDown());
+        awaitRequest("GET /api/survey/COAL4");
+        request.cancel();
+        releaseResponses.countDown();
+
+        CountDownLatch received = new CountDownLatch(1);
+        repository.requestPatientDetails("COAL4", details -> received.countDown());
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(2, count("GET /api/survey/COAL4"));
+        assertFalse(cancelledReceived.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void cancellingOneOfTwoRequests_shouldKeepSharedDownload() throws Exception {
+        PatientRepository repository = new PatientRepository(patientService, predictionService);
+        CountDownLatch received = new CountDownLatch(1);
+
+        Cancellable first = repository.requestPrediction("COAL5", prediction -> fail("Cancelled request was delivered"));
+        repository.requestPrediction("COAL5", prediction -> received.countDown());
+        first.cancel();
+        releaseResponses.countDown();
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(1, count("GET /api/results/COAL5"));
+    }
+
+    @Test
+    public void prefetch_shouldCacheBothPartsWithoutMarkingSurveyViewed() throws Exception {
+        releaseResponses.countDown();
+        PatientRepository repository = new PatientRepository(patientService, predictionService);
+
+        CountDownLatch prefetched = new CountDownLatch(1);
+        repository.prefetchPatientDetails("COAL6", prefetched::countDown);
+        assertTrue(prefetched.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch again = new CountDownLatch(1);
+        repository.prefetchPatientDetails("COAL6", again::countDown);
+        assertTrue(again.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, count("GET /api/survey/COAL6"));
+        assertEquals(1, count("GET /api/results/COAL6"));
+        assertEquals(0, count("PATCH /api/survey/COAL6"));
+    }
+
+    private void awaitRequest(String request) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(request) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
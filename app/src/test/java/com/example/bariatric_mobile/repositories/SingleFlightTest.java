@@ -0,0 +1,136 @@
+package com.example.bariatric_mobile.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final List<SingleFlight.Callback<String>> started = new ArrayList<>();
+    private final List<String> cancelled = new ArrayList<>();
+    private final SingleFlight.Loader<String, String> loader = (key, done) -> {
+        started.add(done);
+        return () -> cancelled.add(key);
+    };
+
+    @Test
+    void request_sameKeyWhileInFlight_shouldShareOneLoad() {
+        List<String> received = new ArrayList<>();
+
+        assertTrue(flights.request("A", received::add, loader));
+        assertFalse(flights.request("A", received::add, loader));
+        assertTrue(flights.request("B", received::add, loader));
+        assertEquals(2, started.size());
+
+        started.get(0).onSuccess("a");
+
+        assertEquals(List.of("a", "a"), received);
+        assertFalse(flights.isInFlight("A"));
+        assertTrue(flights.isInFlight("B"));
+    }
+
+    @Test
+    void request_afterCompletion_shouldStartNewLoad() {
+        flights.request("A", value -> {}, loader);
+        started.get(0).onSuccess("a");
+
+        assertTrue(flights.request("A", value -> {}, loader));
+        assertEquals(2, started.size());
+    }
+
+    @Test
+    void onError_shouldReachEveryWaitingCallback() {
+        List<String> errors = new ArrayList<>();
+        SingleFlight.Callback<String> callback = new SingleFlight.Callback<String>() {
+            @Override
+            public void onSuccess(String value) {
+                fail("Unexpected success");
+            }
+
+            @Override
+            public void onError(String message) {
+                errors.add(message);
+            }
+        };
+
+        flights.request("A", callback, loader);
+        flights.request("A", callback, loader);
+        started.get(0).onError("500");
+
+        assertEquals(List.of("500", "500"), errors);
+    }
+
+    @Test
+    void lateSecondCompletion_shouldNotCompleteNextLoad() {
+        List<String> received = new ArrayList<>();
+        flights.request("A", received::add, loader);
+        SingleFlight.Callback<String> first = started.get(0);
+        first.onSuccess("a");
+
+        flights.request("A", received::add, loader);
+        first.onSuccess("stale");
+
+        assertEquals(List.of("a"), received);
+        assertTrue(flights.isInFlight("A"));
+    }
+
+    @Test
+    void cancel_oneOfSeveralWaiters_shouldKeepLoad() {
+        List<String> received = new ArrayList<>();
+        SingleFlight.Callback<String> withdrawn = value -> fail("Cancelled callback was called");
+
+        flights.request("A", withdrawn, loader);
+        flights.request("A", received::add, loader);
+        flights.cancel("A", withdrawn);
+
+        assertTrue(cancelled.isEmpty());
+        started.get(0).onSuccess("a");
+        assertEquals(List.of("a"), received);
+    }
+
+    @Test
+    void cancel_lastWaiter_shouldCancelLoad() {
+        SingleFlight.Callback<String> withdrawn = value -> fail("Cancelled callback was called");
+
+        flights.request("A", withdrawn, loader);
+        flights.cancel("A", withdrawn);
+
+        assertEquals(List.of("A"), cancelled);
+        assertFalse(flights.isInFlight("A"));
+
+        started.get(0).onError("Canceled");
+    }
+
+    @Test
+    void cancelledLoadCompletingLate_shouldNotCompleteNextLoad() {
+        List<String> received = new ArrayList<>();
+        SingleFlight.Callback<String> withdrawn = value -> fail("Cancelled callback was called");
+        flights.request("A", withdrawn, loader);
+        flights.cancel("A", withdrawn);
+
+        assertTrue(flights.request("A", received::add, loader));
+        started.get(0).onError("Canceled");
+
+        assertTrue(flights.isInFlight("A"));
+        started.get(1).onSuccess("a");
+        assertEquals(List.of("a"), received);
+    }
+
+    @Test
+    void cancel_whileLoaderIsStarting_shouldCancelLoadOnceReturned() {
+        List<String> received = new ArrayList<>();
+        SingleFlight.Callback<String> callback = received::add;
+
+        flights.request("A", callback, (key, done) -> {
+            flights.cancel(key, callback);
+            return () -> cancelled.add(key);
+        });
+
+        assertEquals(List.of("A"), cancelled);
+        assertFalse(flights.isInFlight("A"));
+    }
+}
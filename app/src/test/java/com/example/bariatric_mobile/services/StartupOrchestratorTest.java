@@ -0,0 +1,125 @@
+package com.example.bariatric_mobile.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupOrchestratorTest {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final List<StartupOrchestrator.Destination> received = new ArrayList<>();
+
+    private StartupOrchestrator orchestrator(List<Callable<Boolean>> checks, List<Runnable> warmUps) {
+        return new StartupOrchestrator(queued::add, checks, warmUps);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void start_validSession_shouldRouteToDashboardAfterAllWork() {
+        StartupOrchestrator orchestrator = orchestrator(
+                List.of(() -> true, () -> true), List.of(() -> {}, () -> {}));
+
+        orchestrator.start(received::add);
+        assertEquals(4, queued.size());
+        assertTrue(received.isEmpty());
+
+        runQueued();
+
+        assertEquals(List.of(StartupOrchestrator.Destination.DASHBOARD), received);
+    }
+
+    @Test
+    void start_failedOrThrowingCheck_shouldRouteToLogin() {
+        orchestrator(List.of(() -> true, () -> false), List.of()).start(received::add);
+        orchestrator(List.of(() -> {
+            throw new IllegalStateException("Keystore unavailable");
+        }), List.of()).start(received::add);
+        runQueued();
+
+        assertEquals(List.of(StartupOrchestrator.Destination.LOGIN,
+                StartupOrchestrator.Destination.LOGIN), received);
+    }
+
+    @Test
+    void start_failingWarmUp_shouldNotBlockRouting() {
+        orchestrator(List.of(() -> true), List.of(() -> {
+            throw new IllegalStateException("No network");
+        })).start(received::add);
+        runQueued();
+
+        assertEquals(List.of(StartupOrchestrator.Destination.DASHBOARD), received);
+    }
+
+    @Test
+    void start_whileRunning_shouldJoinRun() {
+        StartupOrchestrator orchestrator = orchestrator(List.of(() -> true), List.of(() -> {}));
+
+        orchestrator.start(received::add);
+        orchestrator.start(received::add);
+        assertEquals(2, queued.size());
+        runQueued();
+
+        assertEquals(2, received.size());
+
+        orchestrator.start(received::add);
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void removeListener_shouldNotReceiveOutcome() {
+        StartupOrchestrator orchestrator = orchestrator(List.of(() -> true), List.of());
+        StartupOrchestrator.Listener listener = received::add;
+
+        orchestrator.start(listener);
+        orchestrator.removeListener(listener);
+        orchestrator.start(received::add);
+        assertEquals(1, queued.size());
+        runQueued();
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void start_shouldRunWorkInParallel() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Runnable slow = () -> {
+            allStarted.countDown();
+            try {
+                assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<StartupOrchestrator.Destination> destination = new AtomicReference<>();
+        try {
+            new StartupOrchestrator(executor, List.of(() -> {
+                slow.run();
+                return true;
+            }), List.of(slow, slow)).start(value -> {
+                destination.set(value);
+                done.countDown();
+            });
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(StartupOrchestrator.Destination.DASHBOARD, destination.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
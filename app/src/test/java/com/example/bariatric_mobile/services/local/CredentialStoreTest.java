@@ -0,0 +1,150 @@
+package com.example.bariatric_mobile.services.local;
+
+import com.example.bariatric_mobile.models.auth.User;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CredentialStoreTest {
+
+    private static final String USER_JSON =
+            "{\"id\":1,\"name\":\"John\",\"surname\":\"Doe\",\"email\":\"john.doe@example.com\"}";
+
+    private final InMemoryPreferences preferences = new InMemoryPreferences();
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+
+    private final User testUser = new User(1L, "John", "Doe", "john.doe@example.com");
+
+    private CredentialStore directStore() {
+        return new CredentialStore(preferences, Runnable::run);
+    }
+
+    private static String jwt(long expSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"exp\":" + expSeconds + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+
+    @Test
+    public void emptyStore_shouldNotBeAuthenticated() {
+        CredentialStore store = directStore();
+
+        assertNull(store.getToken());
+        assertNull(store.getUser());
+        assertFalse(store.hasToken());
+        assertFalse(store.hasUser());
+        assertFalse(store.isAuthenticated());
+    }
+
+    @Test
+    public void storeSession_shouldBeReadableByNewInstance() {
+        directStore().storeSession("session_token", testUser);
+
+        CredentialStore reopened = directStore();
+
+        assertEquals("session_token", reopened.getToken());
+        assertEquals("john.doe@example.com", reopened.getUser().getEmail());
+        assertTrue(reopened.isAuthenticated());
+    }
+
+    @Test
+    public void storeSession_shouldUpdateMemoryBeforeDiskWrite() {
+        CredentialStore store = new CredentialStore(preferences, pendingWrites::add);
+
+        store.storeSession("session_token", testUser);
+
+        assertTrue(store.isAuthenticated());
+        assertFalse(preferences.contains("auth_token"));
+
+        pendingWrites.forEach(Runnable::run);
+        assertEquals("session_token", preferences.getString("auth_token", null));
+    }
+
+    @Test
+    public void clear_shouldRemoveSessionFromMemoryAndDisk() {
+        CredentialStore store = directStore();
+        store.storeSession("session_token", testUser);
+
+        store.clear();
+
+        assertFalse(store.isAuthenticated());
+        assertNull(store.getToken());
+        assertTrue(preferences.getAll().isEmpty());
+    }
+
+    @Test
+    public void getToken_calledRepeatedly_shouldReadPreferencesOnce() {
+        directStore().storeSession("cached_token", testUser);
+        int[] reads = new int[1];
+        InMemoryPreferences counting = new InMemoryPreferences() {
+            @Override
+            public synchronized String getString(String key, String defValue) {
+                if ("auth_token".equals(key)) reads[0]++;
+                return preferences.getString(key, defValue);
+            }
+        };
+        CredentialStore store = new CredentialStore(counting, Runnable::run);
+
+        store.getToken();
+        store.hasValidToken();
+        store.isAuthenticated();
+
+        assertEquals(1, reads[0]);
+    }
+
+    @Test
+    public void isAuthenticated_withExpiredToken_shouldReturnFalse() {
+        long past = System.currentTimeMillis() / 1000 - 60;
+        CredentialStore store = directStore();
+
+        store.storeSession(jwt(past), testUser);
+
+        assertTrue(store.hasToken());
+        assertTrue(store.isTokenExpired());
+        assertFalse(store.isAuthenticated());
+    }
+
+    @Test
+    public void tamperedSession_shouldBeDiscarded() {
+        directStore().storeSession("session_token", testUser);
+        preferences.edit().putString("auth_token", "other_token").commit();
+
+        CredentialStore reopened = directStore();
+
+        assertFalse(reopened.isAuthenticated());
+        assertNull(reopened.getToken());
+        assertTrue(preferences.getAll().isEmpty());
+    }
+
+    @Test
+    public void sessionWithoutUser_shouldBeDiscarded() {
+        preferences.edit().putString("auth_token", "session_token").commit();
+
+        CredentialStore store = directStore();
+
+        assertNull(store.getToken());
+        assertFalse(preferences.contains("auth_token"));
+    }
+
+    @Test
+    public void sessionWithUnreadableUser_shouldBeDiscarded() {
+        directStore().storeSession("session_token", testUser);
+        preferences.edit().putString("auth_user", "{not json").commit();
+
+        assertFalse(directStore().hasUser());
+    }
+
+    @Test
+    public void storedUserJson_shouldMatchLoginFormat() {
+        directStore().storeSession("session_token", testUser);
+
+        assertEquals(USER_JSON, preferences.getString("auth_user", null));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.bariatric_mobile.services.local;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientChanges;
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientDetailsCacheTest {
+
+    private static final long TTL = 1_000;
+
+    private long now = 0;
+    private final PatientDetailsCache cache = new PatientDetailsCache(2, TTL, () -> now);
+
+    private static SurveyData survey(String code) {
+        SurveyData data = new SurveyData();
+        data.setPatientCode(code);
+        return data;
+    }
+
+    @Test
+    void getDetails_withinTtl_shouldReturnFreshValueAndCountHit() {
+        SurveyData details = survey("A");
+        cache.putDetails("A", details);
+        now = TTL - 1;
+
+        PatientDetailsCache.Cached<SurveyData> cached = cache.getDetails("A");
+
+        assertSame(details, cached.getValue());
+        assertTrue(cached.isFresh());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void getDetails_afterTtl_shouldReturnStaleValueAndCountMiss() {
+        cache.putDetails("A", survey("A"));
+        now = TTL;
+
+        PatientDetailsCache.Cached<SurveyData> cached = cache.getDetails("A");
+
+        assertNotNull(cached);
+        assertFalse(cached.isFresh());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getPrediction_withOnlyDetailsCached_shouldMiss() {
+        cache.putDetails("A", survey("A"));
+
+        assertNull(cache.getPrediction("A"));
+        assertEquals(1, cache.getMissCount());
+
+        PredictionResponse prediction = new PredictionResponse(120, 110, 100);
+        now = 500;
+        cache.putPrediction("A", prediction);
+        now = 1_200;
+
+        assertFalse(cache.getDetails("A").isFresh());
+        assertTrue(cache.getPrediction("A").isFresh());
+    }
+
+    @Test
+    void put_beyondLimit_shouldEvictLeastRecentlyUsed() {
+        cache.putDetails("A", survey("A"));
+        cache.putDetails("B", survey("B"));
+        cache.getDetails("A");
+        cache.putDetails("C", survey("C"));
+
+        assertNotNull(cache.getDetails("A"));
+        assertNull(cache.getDetails("B"));
+        assertNotNull(cache.getDetails("C"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void invalidate_withSyncChanges_shouldDropChangedAndRemovedPatients() {
+        cache.putDetails("A", survey("A"));
+        cache.putPrediction("B", new PredictionResponse(1, 2, 3));
+
+        List<Patient> upserted = Collections.singletonList(new Patient("A", "2024-01-01T10:00:00", "ARCHIWALNA"));
+        cache.invalidate(new PatientChanges(upserted, Set.of("B")));
+
+        assertNull(cache.getDetails("A"));
+        assertNull(cache.getPrediction("B"));
+    }
+
+    @Test
+    void clear_shouldDropEverything() {
+        cache.putDetails("A", survey("A"));
+        cache.invalidate("missing");
+        cache.clear();
+
+        assertNull(cache.getDetails("A"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.bariatric_mobile.services.local;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientDetailsDiskCacheTest {
+
+    @TempDir
+    File directory;
+
+    /** Stores files unencrypted, so the tests can inspect and damage them */
+    private static final PatientDetailsDiskCache.FileCodec PLAIN = new PatientDetailsDiskCache.FileCodec() {
+        @Override
+        public InputStream openRead(File file) throws IOException {
+            return new FileInputStream(file);
+        }
+
+        @Override
+        public OutputStream openWrite(File file) throws IOException {
+            if (file.exists()) throw new IOException("Encrypted files cannot be overwritten");
+            return new FileOutputStream(file);
+        }
+    };
+
+    private PatientDetailsDiskCache createCache(long maxBytes) {
+        return new PatientDetailsDiskCache(directory, maxBytes, PLAIN);
+    }
+
+    private static SurveyData survey(String code) {
+        SurveyData data = new SurveyData();
+        data.setPatientCode(code);
+        data.setWeight(120);
+        data.setDiseases(Arrays.asList("E66", "I10"));
+        data.setOtherDiseases("x".repeat(200));
+        return data;
+    }
+
+    private File onlyFile() {
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    @Test
+    void write_thenRead_shouldReturnDetailsAndPrediction() {
+        PatientDetailsDiskCache cache = createCache(1 << 20);
+        cache.writeDetails("ABC123", survey("ABC123"), 1_000);
+        cache.writePrediction("ABC123", new PredictionResponse(120.5, 110, 100), 2_000);
+
+        PatientDetailsDiskCache.Entry entry = cache.read("ABC123");
+
+        assertEquals("ABC123", entry.getDetails().getPatientCode());
+        assertEquals(120, entry.getDetails().getWeight());
+        assertEquals(List.of("E66", "I10"), entry.getDetails().getDiseases());
+        assertEquals(1_000, entry.getDetailsSavedAt());
+        assertEquals(120.5, entry.getPrediction().getOneMonth());
+        assertEquals(2_000, entry.getPredictionSavedAt());
+        assertNull(cache.read("OTHER"));
+    }
+
+    @Test
+    void write_shouldNotExposePatientCodeInFileName() {
+        createCache(1 << 20).writeDetails("ABC123", survey("ABC123"), 1_000);
+
+        assertFalse(onlyFile().getName().contains("ABC123"));
+    }
+
+    @Test
+    void read_afterRestart_shouldFindStoredEntries() {
+        createCache(1 << 20).writeDetails("ABC123", survey("ABC123"), 1_000);
+
+        PatientDetailsDiskCache restarted = createCache(1 << 20);
+
+        assertNotNull(restarted.read("ABC123"));
+        assertEquals(onlyFile().length(), restarted.getSizeBytes());
+    }
+
+    @Test
+    void read_tamperedFile_shouldDeleteItAndMiss() throws IOException {
+        PatientDetailsDiskCache cache = createCache(1 << 20);
+        cache.writeDetails("ABC123", survey("ABC123"), 1_000);
+        File file = onlyFile();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.toPath(), bytes);
+
+        assertNull(cache.read("ABC123"));
+        assertFalse(file.exists());
+        assertEquals(0, cache.getSizeBytes());
+    }
+
+    @Test
+    void read_truncatedFile_shouldMiss() throws IOException {
+        PatientDetailsDiskCache cache = createCache(1 << 20);
+        cache.writeDetails("ABC123", survey("ABC123"), 1_000);
+        File file = onlyFile();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertNull(createCache(1 << 20).read("ABC123"));
+    }
+
+    @Test
+    void read_fileOfAnotherPatient_shouldMiss() throws IOException {
+        PatientDetailsDiskCache cache = createCache(1 << 20);
+        cache.writeDetails("AAA", survey("AAA"), 1_000);
+        File aaa = onlyFile();
+        cache.writeDetails("BBB", survey("BBB"), 1_000);
+        File bbb = Arrays.stream(directory.listFiles()).filter(f -> !f.equals(aaa)).findFirst().get();
+        Files.copy(aaa.toPath(), bbb.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+        assertNull(createCache(1 << 20).read("BBB"));
+        assertNotNull(createCache(1 << 20).read("AAA"));
+    }
+
+    @Test
+    void write_beyondSizeCap_shouldEvictLeastRecentlyUsed() {
+        PatientDetailsDiskCache probe = createCache(1 << 20);
+        probe.writeDetails("P1", survey("P1"), 1_000);
+        long fileSize = probe.getSizeBytes();
+        probe.clear();
+
+        PatientDetailsDiskCache cache = createCache(fileSize * 2);
+        cache.writeDetails("P1", survey("P1"), 1_000);
+        cache.writeDetails("P2", survey("P2"), 1_000);
+        cache.read("P1");
+        cache.writeDetails("P3", survey("P3"), 1_000);
+
+        assertNotNull(cache.read("P1"));
+        assertNull(cache.read("P2"));
+        assertNotNull(cache.read("P3"));
+        assertTrue(cache.getSizeBytes() <= fileSize * 2);
+    }
+
+    @Test
+    void removeAndClear_shouldDeleteFiles() {
+        PatientDetailsDiskCache cache = createCache(1 << 20);
+        cache.writeDetails("P1", survey("P1"), 1_000);
+        cache.writeDetails("P2", survey("P2"), 1_000);
+
+        cache.remove("P1");
+        assertNull(cache.read("P1"));
+        assertEquals(1, directory.listFiles().length);
+
+        cache.clear();
+        assertEquals(0, directory.listFiles().length);
+        assertEquals(0, cache.getSizeBytes());
+    }
+}
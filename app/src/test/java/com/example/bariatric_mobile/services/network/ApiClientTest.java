@@ -0,0 +1,60 @@
+package com.example.bariatric_mobile.services.network;
+
+import android.content.Context;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import retrofit2.Retrofit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApiClientTest {
+
+    @Mock
+    private Context mockContext;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(mockContext.getApplicationContext()).thenReturn(mockContext);
+    }
+
+    @Test
+    public void getClient_shouldReturnSameInstance() {
+        Retrofit first = ApiClient.getClient();
+        Retrofit second = ApiClient.getClient();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void initialize_shouldNotRebuildClient() {
+        Retrofit before = ApiClient.getClient();
+
+        ApiClient.initialize(mockContext, () -> "first_token");
+        ApiClient.initialize(mockContext, () -> "second_token");
+
+        assertSame(before, ApiClient.getClient());
+    }
+
+    @Test
+    public void services_shouldBeMemoized() {
+        assertSame(ApiClient.getAuthService(), ApiClient.getAuthService());
+        assertSame(ApiClient.getPatientService(), ApiClient.getPatientService());
+        assertSame(ApiClient.getPredictionService(), ApiClient.getPredictionService());
+    }
+
+    @Test
+    public void services_shouldSurviveReinitialization() {
+        PatientApiService patientService = ApiClient.getPatientService();
+
+        ApiClient.initialize(mockContext, () -> null);
+
+        assertSame(patientService, ApiClient.getPatientService());
+    }
+}
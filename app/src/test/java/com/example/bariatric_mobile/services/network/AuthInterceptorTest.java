@@ -0,0 +1,82 @@
+package com.example.bariatric_mobile.services.network;
+
+import android.content.Context;
+
+import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.services.local.CredentialStore;
+import com.example.bariatric_mobile.services.local.InMemoryPreferences;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthInterceptorTest {
+
+    private static final String TOKEN = "session_token";
+
+    @Mock
+    private Context mockContext;
+
+    @Mock
+    private Interceptor.Chain mockChain;
+
+    private final AtomicInteger tokenReads = new AtomicInteger();
+
+    private final InMemoryPreferences preferences = new InMemoryPreferences() {
+        @Override
+        public synchronized String getString(String key, String defValue) {
+            if ("auth_token".equals(key)) {
+                tokenReads.incrementAndGet();
+            }
+            return super.getString(key, defValue);
+        }
+    };
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Request request = new Request.Builder().url("http://localhost/api/surveys").build();
+        Response response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .build();
+
+        lenient().when(mockContext.getApplicationContext()).thenReturn(mockContext);
+        new CredentialStore(preferences, Runnable::run)
+                .storeSession(TOKEN, new User(1L, "John", "Doe", "john.doe@example.com"));
+        tokenReads.set(0);
+        when(mockChain.request()).thenReturn(request);
+        when(mockChain.proceed(any(Request.class))).thenReturn(response);
+    }
+
+    @Test
+    public void interceptor_shouldAddStoredTokenAndReadPreferencesOnce() throws IOException {
+        ApiClient.initialize(mockContext, new CredentialStore(preferences, Runnable::run));
+        ApiClient.AuthInterceptor interceptor = new ApiClient.AuthInterceptor();
+
+        interceptor.intercept(mockChain);
+        interceptor.intercept(mockChain);
+        interceptor.intercept(mockChain);
+
+        ArgumentCaptor<Request> sent = ArgumentCaptor.forClass(Request.class);
+        verify(mockChain, times(3)).proceed(sent.capture());
+        assertEquals("Bearer " + TOKEN, sent.getValue().header("Authorization"));
+        assertEquals(1, tokenReads.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.auth.AuthResponse;
+import com.example.bariatric_mobile.models.auth.User;
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+import com.example.bariatric_mobile.models.patient.SurveyData;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonAdaptersTest {
+
+    /** Reflective Gson, as used before the adapters were registered */
+    private final Gson reflective = new Gson();
+    private final Gson gson = JsonAdapters.gson();
+
+    static String surveyJson(String patientCode) {
+        return "{\"patientCode\":\"" + patientCode + "\",\"birthDate\":\"1980-05-12\",\"gender\":\"female\","
+                + "\"referralType\":\"nfz\",\"referralPIN\":\"1234567\",\"weight\":132,\"height\":168,"
+                + "\"considerSurgery\":true,\"diseases\":[\"E66\",\"I10\",\"E11\"],"
+                + "\"additionalDiseases\":[\"K21\"],\"contraindications\":[\"pregnancy\"],"
+                + "\"otherDiseases\":\"asthma\",\"maxWeight\":140,\"obesityYears\":12,"
+                + "\"previousTreatments\":[\"diet\",\"pharmacotherapy\"],\"chronicMedication\":true,"
+                + "\"medicationDetails\":\"metformin\",\"physicalActivity\":false,\"healthyEating\":true,"
+                + "\"processedFood\":true,\"compulsiveEating\":3,\"alcoholConsumption\":false,"
+                + "\"smoking\":false,\"suicidalThoughts\":false,\"psychiatristSupport\":false,"
+                + "\"psychiatricDiagnosis\":null,\"psychologistSupport\":true,"
+                + "\"familyDiseases\":[\"obesity\",\"diabetes\"],\"abdomenSurgeries\":true,"
+                + "\"surgeriesDetails\":\"appendectomy\",\"specialistClinic\":true,\"clinicType\":\"diabetology\","
+                + "\"bmi\":46.77,\"status\":\"NOWA\",\"date\":\"2024-03-14T10:00:00\","
+                + "\"submissionDate\":\"2024-03-14T10:00:00\",\"extra\":{\"ignored\":[1,2]}}";
+    }
+
+    @Test
+    void surveyData_shouldMatchReflectiveParsing() {
+        SurveyData expected = reflective.fromJson(surveyJson("ABC123"), SurveyData.class);
+        SurveyData actual = gson.fromJson(surveyJson("ABC123"), SurveyData.class);
+
+        assertEquals(reflective.toJsonTree(expected), reflective.toJsonTree(actual));
+        assertEquals(JsonParser.parseString(reflective.toJson(expected)), JsonParser.parseString(gson.toJson(actual)));
+    }
+
+    @Test
+    void surveyData_shouldInternCodesAcrossSurveys() {
+        SurveyData first = gson.fromJson(surveyJson("A1"), SurveyData.class);
+        SurveyData second = gson.fromJson(surveyJson("B2"), SurveyData.class);
+
+        assertSame(first.getDiseases().get(0), second.getDiseases().get(0));
+        assertSame(first.getContraindications().get(0), second.getContraindications().get(0));
+        assertSame(first.getFamilyDiseases().get(1), second.getFamilyDiseases().get(1));
+        assertSame(first.getStatus(), second.getStatus());
+    }
+
+    @Test
+    void surveyData_nullPrimitive_shouldKeepDefault() {
+        SurveyData survey = gson.fromJson("{\"weight\":null,\"considerSurgery\":null,\"bmi\":null,\"diseases\":null}",
+                SurveyData.class);
+
+        assertEquals(0, survey.getWeight());
+        assertFalse(survey.isConsiderSurgery());
+        assertEquals(0.0, survey.getBmi());
+        assertNull(survey.getDiseases());
+    }
+
+    @Test
+    void surveyData_fractionalInt_shouldFailLikeReflectiveGson() {
+        assertThrows(JsonSyntaxException.class, () -> reflective.fromJson("{\"weight\":80.5}", SurveyData.class));
+        assertThrows(JsonSyntaxException.class, () -> gson.fromJson("{\"weight\":80.5}", SurveyData.class));
+    }
+
+    @Test
+    void patient_shouldRoundTrip() {
+        String json = "{\"patient_number\":\"P1\",\"submission_date\":\"2024-01-02T10:00:00\","
+                + "\"status\":\"NOWA\",\"updated_at\":\"2024-01-03T08:00:00\"}";
+        Patient patient = gson.fromJson(json, Patient.class);
+
+        assertEquals("P1", patient.getCode());
+        assertEquals("2024-01-02T10:00:00", patient.getSubmissionDate());
+        assertEquals("NOWA", patient.getStatus());
+        assertEquals("2024-01-03T08:00:00", patient.getLastModified());
+        assertEquals(JsonParser.parseString(json), JsonParser.parseString(gson.toJson(patient)));
+        assertEquals(JsonParser.parseString(reflective.toJson(reflective.fromJson(json, Patient.class))),
+                JsonParser.parseString(gson.toJson(patient)));
+    }
+
+    @Test
+    void predictionResponse_shouldParseSnakeCaseFields() {
+        PredictionResponse prediction = gson.fromJson(
+                "{\"one_month\":128.5,\"three_months\":\"120\",\"six_months\":111.25}", PredictionResponse.class);
+
+        assertEquals(128.5, prediction.getOneMonth());
+        assertEquals(120.0, prediction.getThreeMonths());
+        assertEquals(111.25, prediction.getSixMonths());
+    }
+
+    @Test
+    void authResponse_shouldMatchReflectiveFormat() {
+        AuthResponse response = new AuthResponse(new User(7L, "Anna", "Nowak", "anna@example.com"), "jwt");
+
+        String json = gson.toJson(response);
+        assertEquals(JsonParser.parseString(reflective.toJson(response)), JsonParser.parseString(json));
+
+        AuthResponse parsed = gson.fromJson(json, AuthResponse.class);
+        assertEquals("jwt", parsed.getToken());
+        assertEquals(Long.valueOf(7), parsed.getUser().getId());
+        assertEquals("Anna Nowak", parsed.getUser().getFullName());
+    }
+
+    @Test
+    void user_withoutId_shouldOmitNullFields() {
+        User user = new User(null, "Jan", null, "jan@example.com");
+
+        assertEquals("{\"name\":\"Jan\",\"email\":\"jan@example.com\"}", gson.toJson(user));
+        assertNull(gson.fromJson("null", User.class));
+    }
+
+    @Test
+    void intern_shouldReturnSharedInstance() {
+        String first = JsonAdapters.intern(new String(new char[]{'E', '6', '6'}));
+        String second = JsonAdapters.intern(new String(new char[]{'E', '6', '6'}));
+
+        assertSame(first, second);
+        assertNull(JsonAdapters.intern(null));
+        assertEquals(Arrays.asList("a", null), gson.fromJson("{\"diseases\":[\"a\",null]}", SurveyData.class).getDiseases());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.utils.SyncWatermark;
+import com.google.gson.Gson;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the delta sync contract of {@link PatientApiService} against a local stand-in
+ * server and checks that the incremental payload does not depend on history size.
+ */
+public class PatientDeltaSyncTest {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 0, 0);
+    private static final int NEW_SURVEYS = 5;
+
+    private final Gson gson = new Gson();
+    private MockWebServer server;
+    private SurveyServer surveyServer;
+    private PatientApiService service;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        surveyServer = new SurveyServer();
+        server = new MockWebServer();
+        server.setDispatcher(surveyServer);
+        server.start();
+
+        service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(PatientApiService.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void deltaPayload_shouldNotGrowWithHistorySize() throws IOException {
+        long smallHistoryDelta = deltaPayloadBytes(100);
+        long largeHistoryDelta = deltaPayloadBytes(10_000);
+
+        assertEquals(smallHistoryDelta, largeHistoryDelta);
+    }
+
+    @Test
+    public void deltaSync_shouldReturnOnlyNewerRows() throws IOException {
+        surveyServer.reset(50);
+        List<Patient> full = service.getPatients().execute().body();
+        String watermark = SyncWatermark.advance(null, full);
+
+        surveyServer.submit(NEW_SURVEYS);
+        List<Patient> delta = service.getPatientsChangedSince(watermark).execute().body();
+
+        assertNotNull(delta);
+        assertEquals(NEW_SURVEYS, delta.size());
+        assertTrue(delta.stream().allMatch(p -> p.getCode().startsWith("N")));
+        assertTrue(SyncWatermark.advance(watermark, delta).compareTo(watermark) > 0);
+    }
+
+    @Test
+    public void deltaSync_withNothingNew_shouldReturnEmptyList() throws IOException {
+        surveyServer.reset(20);
+        String watermark = SyncWatermark.advance(null, service.getPatients().execute().body());
+
+        Response<List<Patient>> response = service.getPatientsChangedSince(watermark).execute();
+
+        assertTrue(response.isSuccessful());
+        assertTrue(response.body().isEmpty());
+    }
+
+    /** Syncs a history of the given size, submits new surveys and returns the size of the delta body */
+    private long deltaPayloadBytes(int historySize) throws IOException {
+        surveyServer.reset(historySize);
+        List<Patient> full = service.getPatients().execute().body();
+        assertEquals(historySize, full.size());
+
+        surveyServer.submit(NEW_SURVEYS);
+        List<Patient> delta = service.getPatientsChangedSince(SyncWatermark.advance(null, full)).execute().body();
+        assertEquals(NEW_SURVEYS, delta.size());
+
+        return surveyServer.lastDeltaBytes;
+    }
+
+    /**
+     * Stand-in for the survey backend honouring the {@code since} query parameter.
+     */
+    private class SurveyServer extends Dispatcher {
+        private final List<Patient> surveys = new ArrayList<>();
+        private int clock;
+        volatile long lastDeltaBytes;
+
+        void reset(int historySize) {
+            surveys.clear();
+            clock = 0;
+            for (int i = 0; i < historySize; i++) {
+                surveys.add(new Patient(String.format(Locale.US, "H%07d", i), nextDate(), ""));
+            }
+        }
+
+        void submit(int count) {
+            for (int i = 0; i < count; i++) {
+                surveys.add(new Patient(String.format(Locale.US, "N%07d", i), nextDate(), "NOWA"));
+            }
+        }
+
+        private String nextDate() {
+            return START.plusSeconds(clock++).format(ISO);
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String since = request.getRequestUrl().queryParameter("since");
+            List<Patient> result = since == null ? surveys : surveys.stream()
+                    .filter(p -> p.getLastModified().compareTo(since) > 0)
+                    .collect(Collectors.toList());
+
+            String body = gson.toJson(result);
+            if (since != null) {
+                lastDeltaBytes = body.getBytes(StandardCharsets.UTF_8).length;
+            }
+            return new MockResponse().setResponseCode(200).setBody(body);
+        }
+    }
+}
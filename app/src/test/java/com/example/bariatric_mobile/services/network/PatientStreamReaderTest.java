@@ -0,0 +1,153 @@
+package com.example.bariatric_mobile.services.network;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientStreamReaderTest {
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final List<Boolean> lastFlags = new ArrayList<>();
+    private final List<String> codes = new ArrayList<>();
+
+    private final PatientStreamReader.ChunkHandler recorder = (chunk, last) -> {
+        chunkSizes.add(chunk.size());
+        lastFlags.add(last);
+        for (Patient patient : chunk) {
+            codes.add(patient.getCode());
+        }
+    };
+
+    private static String patientJson(int i) {
+        return "{\"patient_number\":\"P" + i + "\",\"submission_date\":\"2024-01-0" + (i % 9 + 1)
+                + "T10:00:00\",\"status\":\"NOWA\",\"updated_at\":null}";
+    }
+
+    private static String patientsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append(patientJson(i));
+        }
+        return json.append(']').toString();
+    }
+
+    @Test
+    void read_shouldDeliverPatientsInChunksInOrder() throws IOException {
+        int total = PatientStreamReader.read(new StringReader(patientsJson(7)), 3, recorder);
+
+        assertEquals(7, total);
+        assertEquals(List.of(3, 3, 1), chunkSizes);
+        assertEquals(List.of(false, false, true), lastFlags);
+        assertEquals("P0", codes.get(0));
+        assertEquals("P6", codes.get(6));
+    }
+
+    @Test
+    void read_exactMultipleOfChunkSize_shouldEndWithEmptyLastChunk() throws IOException {
+        PatientStreamReader.read(new StringReader(patientsJson(4)), 2, recorder);
+
+        assertEquals(List.of(2, 2, 0), chunkSizes);
+        assertEquals(List.of(false, false, true), lastFlags);
+    }
+
+    @Test
+    void read_emptyArray_shouldDeliverEmptyLastChunk() throws IOException {
+        assertEquals(0, PatientStreamReader.read(new StringReader("[]"), 10, recorder));
+        assertEquals(List.of(0), chunkSizes);
+        assertEquals(List.of(true), lastFlags);
+    }
+
+    @Test
+    void read_shouldParseAllFieldsAndSkipNullEntries() throws IOException {
+        List<Patient> received = new ArrayList<>();
+        PatientStreamReader.read(new StringReader("[null," + patientJson(1) + "]"), 10,
+                (chunk, last) -> received.addAll(chunk));
+
+        assertEquals(1, received.size());
+        Patient patient = received.get(0);
+        assertEquals("P1", patient.getCode());
+        assertEquals("2024-01-02T10:00:00", patient.getSubmissionDate());
+        assertEquals("NOWA", patient.getStatus());
+    }
+
+    @Test
+    void read_malformedBody_shouldThrowIOException() {
+        assertThrows(IOException.class,
+                () -> PatientStreamReader.read(new StringReader("{\"detail\":\"error\"}"), 10, recorder));
+        assertThrows(IOException.class,
+                () -> PatientStreamReader.read(new StringReader("[" + patientJson(1) + ","), 10, recorder));
+    }
+
+    @Test
+    void read_shouldDeliverFirstChunkBeforeBodyIsComplete() throws Exception {
+        PipedWriter writer = new PipedWriter();
+        PipedReader reader = new PipedReader(writer, 1 << 16);
+        CountDownLatch firstChunk = new CountDownLatch(1);
+
+        CompletableFuture<Integer> total = CompletableFuture.supplyAsync(() -> {
+            try {
+                return PatientStreamReader.read(reader, 2, (chunk, last) -> {
+                    recorder.onChunk(chunk, last);
+                    firstChunk.countDown();
+                });
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        writer.write("[" + patientJson(0) + "," + patientJson(1) + ",");
+        writer.flush();
+        assertTrue(firstChunk.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("P0", "P1"), codes);
+
+        writer.write(patientJson(2) + "]");
+        writer.close();
+        assertEquals(3, total.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(false, true), lastFlags);
+    }
+
+    @Test
+    void streamPatients_shouldReadBodyFromServer() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(patientsJson(600)));
+        server.start();
+        try {
+            PatientApiService service = new Retrofit.Builder()
+                    .baseUrl(server.url("/"))
+                    .addConverterFactory(GsonConverterFactory.create())
+                    .build()
+                    .create(PatientApiService.class);
+
+            Response<ResponseBody> response = service.streamPatients().execute();
+            try (ResponseBody body = response.body()) {
+                assertNotNull(body);
+                assertEquals(600, PatientStreamReader.read(body.charStream(),
+                        PatientStreamReader.CHUNK_SIZE, recorder));
+            }
+            assertEquals(List.of(250, 250, 100), chunkSizes);
+            assertEquals("/api/surveys", server.takeRequest().getPath());
+        } finally {
+            server.shutdown();
+        }
+    }
+}
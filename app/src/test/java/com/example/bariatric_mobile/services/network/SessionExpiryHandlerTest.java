@@ -0,0 +1,86 @@
+package com.example.bariatric_mobile.services.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionExpiryHandlerTest {
+
+    private final AtomicInteger cancellations = new AtomicInteger();
+    private final AtomicInteger logouts = new AtomicInteger();
+
+    private SessionExpiryHandler createHandler() {
+        return new SessionExpiryHandler(cancellations::incrementAndGet, Runnable::run, logouts::incrementAndGet);
+    }
+
+    @Test
+    public void onUnauthorized_firstCall_shouldCancelAndLogout() {
+        SessionExpiryHandler handler = createHandler();
+
+        assertTrue(handler.onUnauthorized());
+
+        assertTrue(handler.isExpired());
+        assertEquals(1, cancellations.get());
+        assertEquals(1, logouts.get());
+    }
+
+    @Test
+    public void onUnauthorized_repeatedCalls_shouldBeNoOps() {
+        SessionExpiryHandler handler = createHandler();
+
+        handler.onUnauthorized();
+        assertFalse(handler.onUnauthorized());
+        assertFalse(handler.onUnauthorized());
+
+        assertEquals(1, cancellations.get());
+        assertEquals(1, logouts.get());
+    }
+
+    @Test
+    public void onUnauthorized_concurrentCalls_shouldLogoutOnce() throws Exception {
+        SessionExpiryHandler handler = createHandler();
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return handler.onUnauthorized();
+            }));
+        }
+        start.countDown();
+
+        int started = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(5, TimeUnit.SECONDS)) started++;
+        }
+        pool.shutdown();
+
+        assertEquals(1, started);
+        assertEquals(1, cancellations.get());
+        assertEquals(1, logouts.get());
+    }
+
+    @Test
+    public void reset_shouldAllowNextExpiration() {
+        SessionExpiryHandler handler = createHandler();
+
+        handler.onUnauthorized();
+        handler.reset();
+
+        assertFalse(handler.isExpired());
+        assertTrue(handler.onUnauthorized());
+        assertEquals(2, logouts.get());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.bariatric_mobile.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartPaintTimerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void markPainted_shouldReturnTimeSinceCreation() {
+        ChartPaintTimer timer = new ChartPaintTimer(now::get);
+        assertFalse(timer.isPainted());
+        assertEquals(-1, timer.getPaintedAfterMillis());
+
+        now.addAndGet(180);
+
+        assertEquals(180, timer.markPainted());
+        assertTrue(timer.isPainted());
+        assertEquals(180, timer.getPaintedAfterMillis());
+    }
+
+    @Test
+    void markPainted_later_shouldKeepFirstMeasurement() {
+        ChartPaintTimer timer = new ChartPaintTimer(now::get);
+        now.addAndGet(120);
+        timer.markPainted();
+
+        now.addAndGet(500);
+
+        assertEquals(-1, timer.markPainted());
+        assertEquals(120, timer.getPaintedAfterMillis());
+    }
+}
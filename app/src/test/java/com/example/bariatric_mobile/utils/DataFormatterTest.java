@@ -3,6 +3,7 @@ package com.example.bariatric_mobile.utils;
 import android.content.Context;
 
 import com.example.bariatric_mobile.R;
+import com.example.bariatric_mobile.models.patient.Patient;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -166,4 +167,39 @@ public class DataFormatterTest {
         String result = DataFormatter.formatDate("");
         assertEquals("", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parseIsoDate_shouldIgnoreFractionAndOffset() {
+        long plain = DataFormatter.parseIsoDate("2024-03-15T14:30:00");
+
+        assertEquals(plain, DataFormatter.parseIsoDate("2024-03-15T14:30:00.123456Z"));
+        assertEquals(plain, DataFormatter.parseIsoDate("2024-03-15T14:30:00+02:00"));
+        assertEquals("15.03.2024", DataFormatter.formatDate(plain, null));
+    }
+
+    @Test
+    public void parseIsoDate_withInvalidDate_shouldReturnNoDate() {
+        assertEquals(DataFormatter.NO_DATE, DataFormatter.parseIsoDate(null));
+        assertEquals(DataFormatter.NO_DATE, DataFormatter.parseIsoDate("2024-03-15"));
+        assertEquals(DataFormatter.NO_DATE, DataFormatter.parseIsoDate("2024-13-15T14:30:00"));
+        assertEquals(DataFormatter.NO_DATE, DataFormatter.parseIsoDate("2024-02-30T14:30:00"));
+        assertEquals(DataFormatter.NO_DATE, DataFormatter.parseIsoDate("abcd-03-15T14:30:00"));
+    }
+
+    @Test
+    public void formatDate_withInvalidDate_shouldReturnOriginalString() {
+        assertEquals("15/03/2024", DataFormatter.formatDate("15/03/2024"));
+        assertEquals("15/03/2024", DataFormatter.formatDate(DataFormatter.NO_DATE, "15/03/2024"));
+        assertEquals("", DataFormatter.formatDate(DataFormatter.NO_DATE, null));
+    }
+
+    @Test
+    public void patientDisplayDate_shouldBeFormattedOnceAndReused() {
+        Patient patient = new Patient("P1", "2024-03-15T14:30:00", "");
+
+        String first = patient.getDisplaySubmissionDate();
+
+        assertEquals("15.03.2024", first);
+        assertSame(first, patient.getDisplaySubmissionDate());
+    }
+}
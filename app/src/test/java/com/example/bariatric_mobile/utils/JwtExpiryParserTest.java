@@ -0,0 +1,76 @@
+package com.example.bariatric_mobile.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtExpiryParserTest {
+
+    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+
+    private String tokenExpiringAt(Date expiration) {
+        return Jwts.builder()
+                .setSubject("doctor@example.com")
+                .setExpiration(expiration)
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    public void parseExpiry_withFutureExp_shouldReturnExpiry() {
+        long expiresAt = (System.currentTimeMillis() / 1000 + 3600) * 1000;
+
+        long parsed = JwtExpiryParser.parseExpiry(tokenExpiringAt(new Date(expiresAt)));
+
+        assertEquals(expiresAt, parsed);
+        assertFalse(JwtExpiryParser.isExpired(parsed, System.currentTimeMillis()));
+    }
+
+    @Test
+    public void parseExpiry_withPastExp_shouldReturnExpiry() {
+        long expiresAt = (System.currentTimeMillis() / 1000 - 3600) * 1000;
+
+        long parsed = JwtExpiryParser.parseExpiry(tokenExpiringAt(new Date(expiresAt)));
+
+        assertEquals(expiresAt, parsed);
+        assertTrue(JwtExpiryParser.isExpired(parsed, System.currentTimeMillis()));
+    }
+
+    @Test
+    public void parseExpiry_withoutExp_shouldReturnNoExpiry() {
+        String token = Jwts.builder().setSubject("doctor@example.com").signWith(key).compact();
+
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry(token));
+    }
+
+    @Test
+    public void parseExpiry_withInvalidInput_shouldReturnNoExpiry() {
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry(null));
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry(""));
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry("not_a_jwt"));
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry("abc.def.ghi"));
+    }
+
+    @Test
+    public void parseExpiry_withPayloadNotJsonObject_shouldReturnNoExpiry() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString("[1]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(JwtExpiryParser.NO_EXPIRY, JwtExpiryParser.parseExpiry(header + "." + payload + ".signature"));
+    }
+
+    @Test
+    public void isExpired_withNoExpiry_shouldReturnFalse() {
+        assertFalse(JwtExpiryParser.isExpired(JwtExpiryParser.NO_EXPIRY, System.currentTimeMillis()));
+    }
+}
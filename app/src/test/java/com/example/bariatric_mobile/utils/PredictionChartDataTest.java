@@ -0,0 +1,64 @@
+package com.example.bariatric_mobile.utils;
+
+import com.example.bariatric_mobile.models.patient.PredictionResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PredictionChartDataTest {
+
+    private Locale defaultLocale;
+
+    @BeforeEach
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void weights_shouldListCurrentAndPredictedWeightsInOrder() {
+        float[] weights = PredictionChartData.weights(130, new PredictionResponse(121.5, 112, 104.25));
+
+        assertEquals(PredictionChartData.POINT_COUNT, weights.length);
+        assertArrayEquals(new float[]{130f, 121.5f, 112f, 104.25f}, weights);
+    }
+
+    @Test
+    void weights_missingValues_shouldHaveNoData() {
+        float[] weights = PredictionChartData.weights(0, new PredictionResponse(121.5, 0, Double.NaN));
+
+        assertFalse(PredictionChartData.hasData(weights[0]));
+        assertTrue(PredictionChartData.hasData(weights[1]));
+        assertFalse(PredictionChartData.hasData(weights[2]));
+        assertFalse(PredictionChartData.hasData(weights[3]));
+    }
+
+    @Test
+    void formatWeight_shouldUseOneDecimalAndUnit() {
+        assertEquals("121.5 kg", PredictionChartData.formatWeight(121.5f, "kg"));
+        assertEquals("110.0 kg", PredictionChartData.formatWeight(110f, "kg"));
+    }
+
+    @Test
+    void formatAxisValue_wholeValue_shouldOmitDecimals() {
+        assertEquals("110 kg", PredictionChartData.formatAxisValue(110f, "kg"));
+        assertEquals("112.5 kg", PredictionChartData.formatAxisValue(112.5f, "kg"));
+    }
+
+    @Test
+    void formatWeight_shouldFollowDefaultLocale() {
+        Locale.setDefault(new Locale("pl", "PL"));
+
+        assertEquals("121,5 kg", PredictionChartData.formatWeight(121.5f, "kg"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.bariatric_mobile.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrictModePolicyTest {
+
+    private static Throwable violationAt(String... classNames) {
+        Throwable violation = new Throwable("DiskReadViolation");
+        StackTraceElement[] frames = new StackTraceElement[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            frames[i] = new StackTraceElement(classNames[i], "method", null, -1);
+        }
+        violation.setStackTrace(frames);
+        return violation;
+    }
+
+    @Test
+    void isGuarded_keystoreOrCredentialCode_shouldReturnTrue() {
+        assertTrue(StrictModePolicy.isGuarded(violationAt(
+                "android.os.StrictMode$AndroidBlockGuardPolicy",
+                "androidx.security.crypto.MasterKey$Builder",
+                "android.app.Activity")));
+        assertTrue(StrictModePolicy.isGuarded(violationAt(
+                "android.app.SharedPreferencesImpl",
+                "com.example.bariatric_mobile.services.local.CredentialStore")));
+        assertTrue(StrictModePolicy.isGuarded(violationAt(
+                "com.example.bariatric_mobile.repositories.AuthRepository$1")));
+    }
+
+    @Test
+    void isGuarded_otherCode_shouldReturnFalse() {
+        assertFalse(StrictModePolicy.isGuarded(violationAt(
+                "android.database.sqlite.SQLiteDatabase",
+                "com.example.bariatric_mobile.services.local.PatientStore",
+                "com.example.bariatric_mobile.repositories.PatientRepository")));
+        assertFalse(StrictModePolicy.isGuarded(violationAt()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bariatric_mobile.viewmodels;
+
+import com.example.bariatric_mobile.models.patient.Patient;
+import com.example.bariatric_mobile.models.patient.PatientTable;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientSearchTest {
+
+    private final PatientTable patients = PatientTable.of(Arrays.asList(
+            new Patient("abc123", "2024-01-01", "new"),
+            new Patient("abd456", "2024-01-02", "new"),
+            new Patient("xyz789", "2024-01-03", "new")
+    ));
+
+    private final List<String> publishedQueries = new CopyOnWriteArrayList<>();
+    private final List<List<Patient>> publishedResults = new CopyOnWriteArrayList<>();
+    private final AtomicInteger matchCalls = new AtomicInteger();
+
+    private ScheduledThreadPoolExecutor executor;
+    private CountDownLatch published;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ScheduledThreadPoolExecutor(1);
+        published = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private PatientSearch createSearch(PatientSearch.Matcher matcher, long debounceMillis) {
+        return new PatientSearch(matcher, (query, table, rows) -> {
+            publishedQueries.add(query);
+            publishedResults.add(table.view(rows));
+            published.countDown();
+        }, debounceMillis, executor);
+    }
+
+    private int[] startsWith(PatientTable table, String query) {
+        matchCalls.incrementAndGet();
+        List<Integer> result = new ArrayList<>();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.getCode(row).startsWith(query)) result.add(row);
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void submit_burstOfQueries_shouldSearchOnlyLatest() throws InterruptedException {
+        PatientSearch search = createSearch(this::startsWith, 100);
+
+        search.submit(patients, "a");
+        search.submit(patients, "ab");
+        search.submit(patients, "abc");
+
+        assertTrue(published.await(2, TimeUnit.SECONDS));
+        Thread.sleep(150);
+
+        assertEquals(1, matchCalls.get());
+        assertEquals(List.of("abc"), publishedQueries);
+        assertEquals(1, publishedResults.get(0).size());
+        assertEquals("abc123", publishedResults.get(0).get(0).getCode());
+    }
+
+    @Test
+    void submit_whileSearchRunning_shouldDropStaleResult() throws InterruptedException {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        PatientSearch search = createSearch((table, query) -> {
+            if (query.equals("a")) {
+                slowStarted.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException e) {
+                    // Cancelled by the newer query; a real matcher would return null here
+                }
+            }
+            return startsWith(table, query);
+        }, 0);
+
+        search.submit(patients, "a");
+        assertTrue(slowStarted.await(2, TimeUnit.SECONDS));
+        search.submit(patients, "x");
+        releaseSlow.countDown();
+
+        assertTrue(published.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertEquals(List.of("x"), publishedQueries);
+        assertEquals("xyz789", publishedResults.get(0).get(0).getCode());
+    }
+
+    @Test
+    void cancel_shouldNotPublishPendingSearch() throws InterruptedException {
+        PatientSearch search = createSearch(this::startsWith, 50);
+
+        search.submit(patients, "ab");
+        search.cancel();
+
+        assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, matchCalls.get());
+    }
+
+    @Test
+    void submitNow_shouldSearchWithoutDelay() throws InterruptedException {
+        PatientSearch search = createSearch(this::startsWith, 10_000);
+
+        search.submitNow(patients, "ab");
+
+        assertTrue(published.await(2, TimeUnit.SECONDS));
+        assertEquals(2, publishedResults.get(0).size());
+    }
+}